@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: launches the app repeatedly and records time-to-first-request,
+# i.e. the wall-clock time from process launch until the first HTTP response.
+#
+#   scripts/startup-benchmark.sh <plain|fast> [runs] [extra application args...]
+#
+#   plain  target/store-0.0.1-SNAPSHOT.jar            (mvn package)
+#   fast   target/cds/ with AOT + AppCDS, prod profile (mvn -Pfast-startup package)
+#
+# Results are appended to target/startup-benchmark.csv. Example against an in-memory database:
+#   scripts/startup-benchmark.sh fast 5 \
+#     "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;NON_KEYWORDS=USER,VALUE" \
+#     --spring.datasource.username=sa --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MODE="${1:?usage: $0 <plain|fast> [runs] [app args...]}"
+RUNS="${2:-5}"
+shift $(( $# >= 2 ? 2 : 1 ))
+
+PORT="${BENCH_PORT:-8099}"
+URL="http://localhost:${PORT}/login"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+RESULTS="target/startup-benchmark.csv"
+LOG="target/startup-benchmark.log"
+
+case "$MODE" in
+  plain)
+    CMD=("$JAVA" -jar target/store-0.0.1-SNAPSHOT.jar)
+    ;;
+  fast)
+    [ -f target/cds/store.jsa ] || { echo "target/cds/store.jsa missing: run mvn -Pfast-startup package" >&2; exit 1; }
+    CMD=("$JAVA" -XX:SharedArchiveFile=target/cds/store.jsa -Xlog:cds=error -Dspring.aot.enabled=true
+         -jar target/cds/store-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod)
+    ;;
+  *)
+    echo "unknown mode: $MODE" >&2; exit 1
+    ;;
+esac
+
+[ -f "$RESULTS" ] || echo "timestamp,mode,run,first_request_ms,spring_started_s" > "$RESULTS"
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  "${CMD[@]}" --server.port="$PORT" "$@" > "$LOG" 2>&1 &
+  pid=$!
+  # Any HTTP status counts: the point is that the server is up and answering
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL" || true)" != "000" ]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited during startup, see $LOG" >&2; exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  started=$(grep -o 'Started StoreApplication in [0-9.]* seconds' "$LOG" | grep -o '[0-9.]*' | head -1 || true)
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+  echo "$(date -Iseconds),$MODE,$run,$elapsed,${started:-}" >> "$RESULTS"
+  echo "$MODE run $run: first request after ${elapsed} ms (Spring reported ${started:-?} s)"
+  total=$(( total + elapsed ))
+done
+echo "$MODE mean time-to-first-request: $(( total / RUNS )) ms over $RUNS runs"
@@ -0,0 +1,78 @@
+package com.Dukaan.store.config;
+
+import com.Dukaan.store.service.ConnectionPoolMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection pools, split by workload. The "checkout" pool serves read-write
+ * transactions (orders, payments, stock updates) and is configured with the regular
+ * {@code spring.datasource.hikari.*} settings. With {@code store.datasource.split-pools=true}
+ * or a read replica enabled, read-only transactions (catalog browsing, reports) get a
+ * separate "catalog" pool configured with {@code store.datasource.catalog.hikari.*},
+ * so a burst of catalog reads cannot starve checkout of connections. The catalog pool
+ * connects to {@code store.datasource.replica.url} when the replica is enabled, and to
+ * the primary database otherwise. Both pools report to {@link ConnectionPoolMonitor}.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource checkoutDataSource(DataSourceProperties properties, ConnectionPoolMonitor poolMonitor) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("checkout");
+        poolMonitor.register(dataSource);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnExpression("${store.datasource.split-pools:false} or ${store.datasource.replica.enabled:false}")
+    @ConfigurationProperties("store.datasource.catalog.hikari")
+    public HikariDataSource catalogDataSource(DataSourceProperties properties, ConnectionPoolMonitor poolMonitor,
+            @Value("${store.datasource.replica.enabled:false}") boolean replicaEnabled,
+            @Value("${store.datasource.replica.url:}") String replicaUrl,
+            @Value("${store.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${store.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (replicaEnabled) {
+            dataSource.setJdbcUrl(replicaUrl);
+            dataSource.setUsername(replicaUsername);
+            dataSource.setPassword(replicaPassword);
+        }
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("catalog");
+        poolMonitor.register(dataSource);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ConnectionPoolMonitor poolMonitor,
+            @Qualifier("checkoutDataSource") HikariDataSource checkoutDataSource,
+            @Qualifier("catalogDataSource") ObjectProvider<HikariDataSource> catalogDataSource,
+            @Value("${store.datasource.replica.enabled:false}") boolean replicaEnabled,
+            @Value("${store.datasource.replica.read-your-writes-ms:0}") long readYourWritesMillis) {
+        DataSource checkout = new MonitoredPoolDataSource(checkoutDataSource, poolMonitor);
+        HikariDataSource catalog = catalogDataSource.getIfAvailable();
+        if (catalog == null) {
+            return checkout;
+        }
+        // Both pools on one database cannot lag each other, so read-your-writes only applies to a replica
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(checkout,
+                new MonitoredPoolDataSource(catalog, poolMonitor), replicaEnabled ? readYourWritesMillis : 0);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
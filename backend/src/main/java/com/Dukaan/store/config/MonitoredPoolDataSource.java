@@ -0,0 +1,66 @@
+package com.Dukaan.store.config;
+
+import com.Dukaan.store.service.ConnectionPoolMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps one Hikari pool so {@link ConnectionPoolMonitor} sees every checkout and
+ * return: that is what makes the in-use peak exact and lets a leaked connection be
+ * traced to the method that took it.
+ */
+public class MonitoredPoolDataSource extends DelegatingDataSource {
+
+    private final String poolName;
+    private final ConnectionPoolMonitor poolMonitor;
+
+    public MonitoredPoolDataSource(HikariDataSource pool, ConnectionPoolMonitor poolMonitor) {
+        super(pool);
+        this.poolName = pool.getPoolName();
+        this.poolMonitor = poolMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        ConnectionPoolMonitor.Checkout checkout = poolMonitor.checkedOut(poolName);
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals": return proxy == args[0];
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "close":
+                            // Hikari ignores repeated close calls; count the return only once
+                            if (closed.compareAndSet(false, true)) {
+                                try {
+                                    connection.close();
+                                } finally {
+                                    poolMonitor.returned(checkout);
+                                }
+                            }
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                    }
+                });
+    }
+}
@@ -0,0 +1,35 @@
+package com.Dukaan.store.config;
+
+import com.Dukaan.store.service.QueryStatsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Times every SQL statement, enabled unless {@code store.query-stats.enabled=false}.
+ * Only the top-level "dataSource" bean is wrapped, so with read/write routing each
+ * statement is still counted once whichever pool serves it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "store.query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryTimingDataSourcePostProcessor(ObjectProvider<QueryStatsService> queryStats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource && !(bean instanceof QueryTimingDataSource)) {
+                    // Resolved here, not per statement: JPA may bootstrap on a background thread,
+                    // and a bean lookup from there can deadlock against the main thread
+                    return new QueryTimingDataSource((DataSource) bean, queryStats.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.Dukaan.store.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections for read-only transactions to the catalog pool (the replica, when
+ * one is configured) and everything else to the checkout pool on the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the
+ * transaction's read-only flag is known when the connection is actually fetched.
+ *
+ * With a non-zero read-your-writes window, a user who just ran a read-write
+ * transaction keeps reading from the primary until replication has caught up.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final long readYourWritesMillis;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(Object primary, Object replica, long readYourWritesMillis) {
+        this.readYourWritesMillis = readYourWritesMillis;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String user = readYourWritesMillis > 0 ? currentUser() : null;
+        long now = System.currentTimeMillis();
+
+        if (!readOnly) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                lastWriteByUser.put(user, now);
+                if (lastWriteByUser.size() > 100_000) {
+                    lastWriteByUser.values().removeIf(t -> now - t > readYourWritesMillis);
+                }
+            }
+            return Route.PRIMARY;
+        }
+        if (user != null) {
+            Long lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null && now - lastWrite < readYourWritesMillis) {
+                return Route.PRIMARY;
+            }
+        }
+        return Route.REPLICA;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -2,6 +2,7 @@ package com.Dukaan.store.config;
 
 import com.Dukaan.store.security.JwtAuthenticationFilter;
 import com.Dukaan.store.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -38,9 +39,14 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
+            // Logout is a REST endpoint that revokes the JWT (see AuthController)
+            .logout(logout -> logout.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Async and error re-dispatches were already authorized on the original request
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                
                 // Public endpoints - Authentication
                 .requestMatchers("/login", "/register", "/forgot-password", "/reset-password").permitAll()
                 
@@ -60,7 +66,7 @@ public class SecurityConfig {
                 
                 // Order endpoints - Users can manage their own orders, admins can manage all
                 .requestMatchers(HttpMethod.GET, "/api/orders/**").authenticated()
-                .requestMatchers(HttpMethod.POST, "/api/orders").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/orders", "/api/orders/batch", "/api/orders/*/pay").authenticated()
                 .requestMatchers(HttpMethod.PUT, "/api/orders/*/status").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/orders/*/cancel").authenticated()
                 .requestMatchers(HttpMethod.DELETE, "/api/orders/**").hasRole("ADMIN")
@@ -72,6 +78,9 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.PUT, "/api/users/**").authenticated() // Users can update their own profile
                 .requestMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN")
                 
+                // Admin reporting endpoints
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                
                 // All other requests require authentication
                 .anyRequest().authenticated()
             )
@@ -4,6 +4,9 @@ import com.Dukaan.store.dto.UserDTO;
 import com.Dukaan.store.model.User;
 import com.Dukaan.store.repository.UserRepository;
 import com.Dukaan.store.security.JwtUtil;
+import com.Dukaan.store.security.LoginAttemptTracker;
+import com.Dukaan.store.security.TokenRevocationService;
+import com.Dukaan.store.service.UserService;
 import com.Dukaan.store.service.EmailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,6 +25,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
@@ -37,11 +41,17 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private UserService userService;
+    @Autowired
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
     private EmailService emailService;
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
     @Operation(
         summary = "User login", 
@@ -57,6 +67,7 @@ public class AuthController {
         @ApiResponse(responseCode = "423", description = "Account locked due to multiple failed attempts", 
                     content = @Content(mediaType = "application/json", 
                     examples = @ExampleObject(value = "{\"error\": \"Account is locked. Try again later.\"}"))),
+        @ApiResponse(responseCode = "429", description = "Too many failed attempts from this client"),
         @ApiResponse(responseCode = "400", description = "Invalid request format")
     })
     @PostMapping("/login")
@@ -70,7 +81,8 @@ public class AuthController {
                         value = "{\"email\": \"john@example.com\", \"password\": \"securePassword123\"}"
                     )
                 )
-            ) Map<String, String> loginData) {
+            ) Map<String, String> loginData,
+            HttpServletRequest request) {
         
         String email = loginData.get("email");
         String password = loginData.get("password");
@@ -81,6 +93,18 @@ public class AuthController {
             return ResponseEntity.badRequest().body(response);
         }
         
+        String clientIp = request.getRemoteAddr();
+        if (loginAttemptTracker.isIpBlocked(clientIp)) {
+            response.put("error", "Too many failed login attempts. Try again later.");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+        }
+        
+        // In-memory lock covers unknown emails as well, so probing them is throttled too
+        if (loginAttemptTracker.isEmailBlocked(email)) {
+            response.put("error", "Account is locked. Try again later.");
+            return ResponseEntity.status(HttpStatus.LOCKED).body(response);
+        }
+        
         User user = userRepository.findByEmail(email);
         
         // Check if account is locked
@@ -96,8 +120,9 @@ public class AuthController {
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
             String token = jwtUtil.generateToken(userDetails);
             
-            // Reset failed attempts on success
-            if (user != null) {
+            // Reset failed attempts on success, writing only if there is something to clear
+            loginAttemptTracker.recordSuccess(email);
+            if (user != null && (user.getFailedLoginAttempts() != 0 || user.getAccountLockedUntil() != null)) {
                 user.setFailedLoginAttempts(0);
                 user.setAccountLockedUntil(null);
                 userRepository.save(user);
@@ -109,18 +134,16 @@ public class AuthController {
             
             return ResponseEntity.ok(response);
         } catch (Exception ex) {
-            // Increment failed attempts
-            if (user != null) {
-                int attempts = user.getFailedLoginAttempts() + 1;
-                user.setFailedLoginAttempts(attempts);
-                if (attempts >= 5) {
-                    user.setAccountLockedUntil(new Date(System.currentTimeMillis() + 15 * 60 * 1000)); // 15 min lock
-                    user.setFailedLoginAttempts(0);
-                    response.put("error", "Account locked due to multiple failed attempts. Try again in 15 minutes.");
+            // Failures are counted in memory; only the lockout itself is persisted
+            long lockedUntil = loginAttemptTracker.recordFailure(email, clientIp);
+            if (lockedUntil > 0) {
+                if (user != null) {
+                    user.setAccountLockedUntil(new Date(lockedUntil));
                     userRepository.save(user);
-                    return ResponseEntity.status(HttpStatus.LOCKED).body(response);
                 }
-                userRepository.save(user);
+                long minutes = loginAttemptTracker.getLockMillis() / 60000;
+                response.put("error", "Account locked due to multiple failed attempts. Try again in " + minutes + " minutes.");
+                return ResponseEntity.status(HttpStatus.LOCKED).body(response);
             }
             
             response.put("error", "Invalid credentials");
@@ -182,7 +205,7 @@ public class AuthController {
         user.setRole(userData.getOrDefault("role", "USER"));
         user.setFailedLoginAttempts(0);
         
-        User savedUser = userRepository.save(user);
+        User savedUser = userService.createUser(user);
         
         UserDTO dto = toUserDTO(savedUser);
         return ResponseEntity.status(HttpStatus.CREATED).body(dto);
@@ -293,11 +316,38 @@ public class AuthController {
         user.setAccountLockedUntil(null); // Unlock account if locked
         
         userRepository.save(user);
+        tokenRevocationService.revokeAllForUser(user.getEmail());
         
         response.put("message", "Password has been reset successfully");
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "User logout", 
+        description = "Revoke the JWT token sent in the Authorization header"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Token revoked", 
+                    content = @Content(mediaType = "application/json", 
+                    examples = @ExampleObject(value = "{\"message\": \"Logged out successfully\"}"))),
+        @ApiResponse(responseCode = "400", description = "Missing bearer token"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        
+        Map<String, String> response = new HashMap<>();
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            response.put("error", "Bearer token is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        tokenRevocationService.revokeToken(authorization.substring(7));
+        response.put("message", "Logged out successfully");
+        return ResponseEntity.ok(response);
+    }
+
     private UserDTO toUserDTO(User user) {
         if (user == null) return null;
         UserDTO dto = new UserDTO();
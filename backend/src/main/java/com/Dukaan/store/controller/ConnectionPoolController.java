@@ -0,0 +1,72 @@
+package com.Dukaan.store.controller;
+
+import com.Dukaan.store.service.ConnectionPoolMonitor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/pools")
+@Tag(name = "Connection Pools", description = "Admin APIs for connection pool metrics, sizing and leak detection")
+@SecurityRequirement(name = "bearerAuth")
+public class ConnectionPoolController {
+
+    @Autowired
+    private ConnectionPoolMonitor poolMonitor;
+
+    @Operation(
+        summary = "Get connection pool metrics",
+        description = "Active, idle and pending connections, acquire-time and usage-time histograms, checkout timeouts " +
+                      "and the pool size recommended from measured demand, per pool. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pool metrics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getPools() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("pools", poolMonitor.getPoolMetrics());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get connection leaks",
+        description = "Connections held longer than the leak-detection threshold, with the method that checked them out. " +
+                      "Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Leak report retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping("/leaks")
+    public ResponseEntity<Map<String, Object>> getLeaks() {
+        return ResponseEntity.ok(poolMonitor.getLeaks());
+    }
+
+    @Operation(
+        summary = "Reset pool statistics",
+        description = "Clear the timing histograms, counters and leak reports. Demand samples are kept. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics reset"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @DeleteMapping("/stats")
+    public ResponseEntity<Map<String, String>> resetStats() {
+        poolMonitor.reset();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Pool statistics reset");
+        return ResponseEntity.ok(response);
+    }
+}
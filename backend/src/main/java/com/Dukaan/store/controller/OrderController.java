@@ -1,25 +1,32 @@
 package com.Dukaan.store.controller;
 
+import com.Dukaan.store.dto.BatchOrderResult;
 import com.Dukaan.store.dto.OrderDTO;
+import com.Dukaan.store.dto.OrderPageResponse;
+import com.Dukaan.store.dto.OrderSummaryDTO;
 import com.Dukaan.store.dto.UserDTO;
 import com.Dukaan.store.dto.OrderItemDTO;
 import com.Dukaan.store.model.Order;
 import com.Dukaan.store.model.User;
 import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.Payment;
+import com.Dukaan.store.service.BatchOrderService;
+import com.Dukaan.store.service.CallNotPermittedException;
 import com.Dukaan.store.service.OrderService;
+import com.Dukaan.store.service.OrderSummaryService;
+import com.Dukaan.store.service.OrderPaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
-import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +36,10 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -40,22 +51,28 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderSummaryService orderSummaryService;
+
+    @Autowired
+    private OrderPaymentService orderPaymentService;
+
+    @Autowired
+    private BatchOrderService batchOrderService;
+
     @Operation(
         summary = "Get all orders", 
-        description = "Retrieve a list of all orders in the system"
+        description = "Retrieve a summary of every order in the system, newest first. Use GET /api/orders/{id} for the order lines."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of orders", 
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderDTO.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderSummaryDTO.class))),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions")
     })
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> getAllOrders() {
-        List<OrderDTO> orders = orderService.getAllOrders().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderSummaryDTO>> getAllOrders() {
+        return ResponseEntity.ok(orderSummaryService.getAllSummaries());
     }
 
     @Operation(
@@ -71,11 +88,46 @@ public class OrderController {
     @PostMapping
     public ResponseEntity<OrderDTO> createOrder(
             @Valid @RequestBody OrderDTO orderDTO) {
-        Order order = toEntity(orderDTO);
+        Order order = orderService.toEntity(orderDTO);
         Order saved = orderService.createOrder(order);
         return ResponseEntity.status(HttpStatus.CREATED).body(toDTO(saved));
     }
 
+    @Operation(
+        summary = "Create orders in bulk", 
+        description = "Submit many orders in one request. Users and products are resolved once for the whole batch " +
+                      "and orders are saved in chunked transactions. Each order is placed or rejected on its own; " +
+                      "the response lists the outcome for every submitted order in submission order."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-order results"),
+        @ApiResponse(responseCode = "400", description = "Empty batch or batch too large"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> createOrders(@RequestBody List<OrderDTO> orders) {
+        if (orders == null || orders.isEmpty()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Batch must contain at least one order");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (orders.size() > batchOrderService.getMaxBatchSize()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Batch must not contain more than " + batchOrderService.getMaxBatchSize() + " orders");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        List<BatchOrderResult> results = batchOrderService.createOrders(orders);
+        long created = results.stream().filter(r -> BatchOrderResult.CREATED.equals(r.getStatus())).count();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("submitted", results.size());
+        response.put("created", created);
+        response.put("rejected", results.size() - created);
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
         summary = "Get order by ID", 
         description = "Retrieve a specific order by its unique identifier"
@@ -146,14 +198,15 @@ public class OrderController {
 
     @Operation(
         summary = "Get orders with filtering and pagination", 
-        description = "Retrieve orders with optional filtering by status, date range, and pagination"
+        description = "Retrieve order summaries with optional filtering by status, date range (inclusive), and pagination. " +
+                      "With includeTotal=false the total is not counted and hasNext comes from fetching one extra row."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Filtered orders retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
     })
     @GetMapping("/filter")
-    public ResponseEntity<Map<String, Object>> getOrdersFiltered(
+    public ResponseEntity<?> getOrdersFiltered(
             @Parameter(description = "Order status filter", example = "PENDING")
             @RequestParam(required = false) String status,
             @Parameter(description = "Start date (YYYY-MM-DD)", example = "2024-01-01")
@@ -167,7 +220,9 @@ public class OrderController {
             @Parameter(description = "Sort by field", example = "id")
             @RequestParam(defaultValue = "id") String sortBy,
             @Parameter(description = "Sort direction", example = "desc")
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Include totalItems/totalPages (from a short-lived count cache); false skips counting", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                    Sort.by(sortBy).descending() : 
@@ -191,26 +246,16 @@ public class OrderController {
             return ResponseEntity.badRequest().body(error);
         }
         
-        Page<Order> orderPage = orderService.getOrdersFiltered(status, start, end, pageable);
-        
-        List<OrderDTO> orders = orderPage.getContent().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        Slice<OrderSummaryDTO> orderPage = includeTotal
+                ? orderSummaryService.getSummariesFiltered(status, start, end, pageable)
+                : orderSummaryService.getSummariesSlice(status, start, end, pageable);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("orders", orders);
-        response.put("currentPage", orderPage.getNumber());
-        response.put("totalItems", orderPage.getTotalElements());
-        response.put("totalPages", orderPage.getTotalPages());
-        response.put("hasNext", orderPage.hasNext());
-        response.put("hasPrevious", orderPage.hasPrevious());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(OrderPageResponse.of(orderPage));
     }
 
     @Operation(
         summary = "Get user's orders", 
-        description = "Retrieve all orders for a specific user"
+        description = "Retrieve a summary of every order placed by a specific user, newest first"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User orders retrieved successfully"),
@@ -218,16 +263,10 @@ public class OrderController {
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderDTO>> getUserOrders(
+    public ResponseEntity<List<OrderSummaryDTO>> getUserOrders(
             @Parameter(description = "User ID", required = true, example = "1")
             @PathVariable Long userId) {
-        
-        List<Order> userOrders = orderService.getOrdersByUserId(userId);
-        List<OrderDTO> orderDTOs = userOrders.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(orderDTOs);
+        return ResponseEntity.ok(orderSummaryService.getSummariesByUserId(userId));
     }
 
     @Operation(
@@ -266,6 +305,76 @@ public class OrderController {
         }
     }
 
+    @Operation(
+        summary = "Pay for an order", 
+        description = "Charge the order total through the chosen payment provider, failing over to another provider " +
+                      "if it is unavailable. The order is held in PAYING while the gateway call is in flight, so " +
+                      "concurrent requests cannot charge it twice; on approval it moves to PROCESSING. Every attempt " +
+                      "is recorded as a payment, including ones that time out."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Payment processed (check 'success' for approval)"),
+        @ApiResponse(responseCode = "400", description = "Unknown provider or order not payable"),
+        @ApiResponse(responseCode = "404", description = "Order not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "409", description = "Order is already being paid, or was changed while the charge was in flight"),
+        @ApiResponse(responseCode = "502", description = "Payment gateway error"),
+        @ApiResponse(responseCode = "503", description = "All payment providers unavailable"),
+        @ApiResponse(responseCode = "504", description = "Payment provider timed out")
+    })
+    @PostMapping("/{id}/pay")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> payOrder(
+            @Parameter(description = "Order ID", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Payment provider", example = "stripe")
+            @RequestParam(defaultValue = "stripe") String provider) {
+        
+        Order order = orderService.getOrderById(id);
+        if (order == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.notFound().build());
+        }
+        if (order.getStatus() != null && !"PENDING".equals(order.getStatus())) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Only PENDING orders can be paid, order is " + order.getStatus());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(error));
+        }
+        
+        return orderPaymentService.pay(order, provider).handle((outcome, ex) -> {
+            Map<String, Object> response = new HashMap<>();
+            response.put("orderId", id);
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                response.put("error", cause.getMessage() != null ? cause.getMessage() : "Payment failed");
+                HttpStatus status = HttpStatus.BAD_GATEWAY;
+                if (cause instanceof TimeoutException) {
+                    status = HttpStatus.GATEWAY_TIMEOUT;
+                    response.put("error", "Payment provider timed out; the payment will be settled when the provider answers");
+                } else if (cause instanceof RejectedExecutionException || cause instanceof CallNotPermittedException) {
+                    status = HttpStatus.SERVICE_UNAVAILABLE;
+                    response.put("error", "No payment provider is available, try again");
+                } else if (cause instanceof IllegalStateException) {
+                    status = HttpStatus.CONFLICT;
+                } else if (cause instanceof IllegalArgumentException) {
+                    status = HttpStatus.BAD_REQUEST;
+                }
+                return ResponseEntity.status(status).body(response);
+            }
+            Payment payment = outcome.payment();
+            response.put("paymentId", payment.getId());
+            response.put("paymentStatus", payment.getStatus());
+            if (Payment.FAILED.equals(payment.getStatus())) {
+                response.put("error", payment.getMessage() != null ? payment.getMessage() : "Payment failed");
+                return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
+            }
+            if (Payment.REFUND_REQUIRED.equals(payment.getStatus())) {
+                response.put("error", "Order was changed while the payment was in flight; the charge has been flagged for refund");
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            }
+            response.put("payment", outcome.result());
+            return ResponseEntity.ok(response);
+        });
+    }
+
     @Operation(
         summary = "Delete order by ID", 
         description = "Remove an order from the system. Requires ADMIN role."
@@ -296,13 +405,6 @@ public class OrderController {
         return dto;
     }
 
-    private Order toEntity(OrderDTO dto) {
-        Order order = new Order();
-        // User and items should be set in service layer for real use
-        order.setTotalPrice(dto.getTotal());
-        return order;
-    }
-
     private UserDTO toUserDTO(User user) {
         if (user == null) return null;
         UserDTO dto = new UserDTO();
@@ -314,9 +416,10 @@ public class OrderController {
 
     private OrderItemDTO toOrderItemDTO(OrderItem item) {
         OrderItemDTO dto = new OrderItemDTO();
+        dto.setProductId(item.getProductId());
         dto.setQuantity(item.getQuantity());
-        dto.setPrice(item.getProduct() != null ? item.getProduct().getPrice() : 0);
-        // Product mapping omitted for brevity
+        dto.setPrice(item.getUnitPrice() != null ? item.getUnitPrice() : 0);
+        dto.setProductName(item.getProductName());
         return dto;
     }
 }
@@ -42,9 +42,10 @@ public class OrderItemController {
 
     private OrderItemDTO toDTO(OrderItem item) {
         OrderItemDTO dto = new OrderItemDTO();
+        dto.setProductId(item.getProductId());
         dto.setQuantity(item.getQuantity());
-        dto.setPrice(item.getProduct() != null ? item.getProduct().getPrice() : 0);
-        // Product mapping omitted for brevity
+        dto.setPrice(item.getUnitPrice() != null ? item.getUnitPrice() : 0);
+        dto.setProductName(item.getProductName());
         return dto;
     }
 
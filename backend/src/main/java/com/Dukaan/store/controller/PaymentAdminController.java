@@ -0,0 +1,150 @@
+package com.Dukaan.store.controller;
+
+import com.Dukaan.store.model.Payment;
+import com.Dukaan.store.service.AbstractPaymentService;
+import com.Dukaan.store.service.FakePaymentGateway;
+import com.Dukaan.store.service.OrderPaymentService;
+import com.Dukaan.store.service.PaymentRouter;
+import com.Dukaan.store.service.PaymentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/payments")
+@Tag(name = "Payment Administration", description = "Admin APIs for payment provider health and fault injection")
+@SecurityRequirement(name = "bearerAuth")
+public class PaymentAdminController {
+
+    @Autowired
+    private PaymentRouter paymentRouter;
+
+    @Autowired
+    private OrderPaymentService orderPaymentService;
+
+    @Operation(
+        summary = "Get payment provider health", 
+        description = "Circuit breaker state, failure and slow-call rates, and bulkhead usage per provider. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Provider metrics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping("/providers")
+    public ResponseEntity<Map<String, Object>> getProviders() {
+        List<Map<String, Object>> providers = new ArrayList<>();
+        for (PaymentService service : paymentRouter.getProviders()) {
+            if (service instanceof AbstractPaymentService) {
+                Map<String, Object> metrics = ((AbstractPaymentService) service).getMetrics();
+                metrics.put("available", service.isAvailable());
+                providers.add(metrics);
+            }
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("providers", providers);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Inject payment gateway faults", 
+        description = "Change the simulated gateway's latency, decline rate and failure rate at runtime. " +
+                      "Only available while the local fake gateway is in use. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Fault settings updated"),
+        @ApiResponse(responseCode = "400", description = "Provider does not use the fake gateway"),
+        @ApiResponse(responseCode = "404", description = "Unknown provider"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @PutMapping("/providers/{provider}/faults")
+    public ResponseEntity<Map<String, Object>> injectFaults(
+            @Parameter(description = "Payment provider", required = true, example = "stripe")
+            @PathVariable String provider,
+            @Parameter(description = "Mean gateway latency in milliseconds", example = "5000")
+            @RequestParam(required = false) Long latencyMs,
+            @Parameter(description = "Fraction of charges declined (0-1)", example = "0.1")
+            @RequestParam(required = false) Double declineRate,
+            @Parameter(description = "Fraction of charges failing with a gateway error (0-1)", example = "0.5")
+            @RequestParam(required = false) Double failureRate) {
+        
+        PaymentService service = paymentRouter.getProvider(provider);
+        if (service == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!(service instanceof AbstractPaymentService)
+                || !(((AbstractPaymentService) service).getGateway() instanceof FakePaymentGateway)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Provider " + provider + " is not using the fake gateway");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        FakePaymentGateway gateway = (FakePaymentGateway) ((AbstractPaymentService) service).getGateway();
+        if (latencyMs != null) gateway.setLatencyMs(Math.max(0, latencyMs));
+        if (declineRate != null) gateway.setDeclineRate(declineRate);
+        if (failureRate != null) gateway.setFailureRate(failureRate);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("provider", service.getProvider());
+        response.put("latencyMs", gateway.getLatencyMs());
+        response.put("declineRate", gateway.getDeclineRate());
+        response.put("failureRate", gateway.getFailureRate());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Reset a provider's circuit breaker", 
+        description = "Force the breaker back to CLOSED and clear its sliding window. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Circuit breaker reset"),
+        @ApiResponse(responseCode = "404", description = "Unknown provider"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @PostMapping("/providers/{provider}/breaker/reset")
+    public ResponseEntity<Map<String, Object>> resetBreaker(
+            @Parameter(description = "Payment provider", required = true, example = "stripe")
+            @PathVariable String provider) {
+        
+        PaymentService service = paymentRouter.getProvider(provider);
+        if (!(service instanceof AbstractPaymentService)) {
+            return ResponseEntity.notFound().build();
+        }
+        AbstractPaymentService paymentService = (AbstractPaymentService) service;
+        paymentService.getCircuitBreaker().reset();
+        return ResponseEntity.ok(paymentService.getMetrics());
+    }
+
+    @Operation(
+        summary = "Get payments needing reconciliation", 
+        description = "Payments that timed out before the provider answered, and charges approved for orders that were " +
+                      "changed while the charge was in flight (flagged REFUND_REQUIRED). Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Unsettled payments retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping("/unsettled")
+    public ResponseEntity<Map<String, Object>> getUnsettledPayments() {
+        List<Payment> payments = orderPaymentService.getUnsettledPayments();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("payments", payments);
+        response.put("count", payments.size());
+        return ResponseEntity.ok(response);
+    }
+}
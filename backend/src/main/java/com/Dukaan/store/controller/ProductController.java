@@ -1,8 +1,12 @@
 package com.Dukaan.store.controller;
 
 import com.Dukaan.store.dto.ProductDTO;
+import com.Dukaan.store.dto.ProductPageResponse;
 import com.Dukaan.store.model.Product;
+import com.Dukaan.store.service.PriceFacetService;
 import com.Dukaan.store.service.ProductService;
+import com.Dukaan.store.service.ProductSuggestService;
+import com.Dukaan.store.service.TopSellerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,7 +29,7 @@ import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/products")
@@ -35,6 +40,15 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private TopSellerService topSellerService;
+
+    @Autowired
+    private ProductSuggestService productSuggestService;
+
+    @Autowired
+    private PriceFacetService priceFacetService;
+
     @Operation(
         summary = "Get all products", 
         description = "Retrieve a list of all products available in the system"
@@ -46,11 +60,9 @@ public class ProductController {
         @ApiResponse(responseCode = "403", description = "Forbidden - Insufficient permissions")
     })
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<ProductDTO> products = productService.getAllProducts().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(products);
+    public ResponseEntity<Stream<ProductDTO>> getAllProducts() {
+        // Mapped lazily while Jackson writes the array, so no DTO list is built
+        return ResponseEntity.ok(productService.getAllProducts().stream().map(this::toDTO));
     }
 
     @Operation(
@@ -148,38 +160,122 @@ public class ProductController {
 
     @Operation(
         summary = "Search products", 
-        description = "Search products by name, description, or price range"
+        description = "Search products by name, description, or price range. Matching, ranking and paging run in " +
+                      "the database: full-text (best matches first) on PostgreSQL, substring match elsewhere."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid page or size"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
     })
     @GetMapping("/search")
-    public ResponseEntity<List<ProductDTO>> searchProducts(
+    public ResponseEntity<?> searchProducts(
+            @Parameter(description = "Product name to search", example = "smartphone")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Minimum price", example = "100.0")
+            @RequestParam(required = false) Double minPrice,
+            @Parameter(description = "Maximum price", example = "500.0")
+            @RequestParam(required = false) Double maxPrice,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        
+        if (page < 0 || size < 1 || size > 100) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "page must be >= 0 and size between 1 and 100");
+            return ResponseEntity.badRequest().body(error);
+        }
+        Page<Product> products = productService.searchProducts(name, minPrice, maxPrice, PageRequest.of(page, size));
+        return ResponseEntity.ok(ProductPageResponse.of(products.map(this::toDTO)));
+    }
+
+    @Operation(
+        summary = "Price histogram for a product search", 
+        description = "Bucketed product counts by price for the same filters as /search, for building price sliders"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Price histogram retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid bucket count"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    @GetMapping("/facets/price")
+    public ResponseEntity<Map<String, Object>> getPriceFacets(
             @Parameter(description = "Product name to search", example = "smartphone")
             @RequestParam(required = false) String name,
             @Parameter(description = "Minimum price", example = "100.0")
             @RequestParam(required = false) Double minPrice,
             @Parameter(description = "Maximum price", example = "500.0")
-            @RequestParam(required = false) Double maxPrice) {
+            @RequestParam(required = false) Double maxPrice,
+            @Parameter(description = "Number of equal-width buckets", example = "10")
+            @RequestParam(defaultValue = "10") int buckets) {
+        
+        if (buckets < 1 || buckets > 100) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "buckets must be between 1 and 100");
+            return ResponseEntity.badRequest().body(error);
+        }
+        return ResponseEntity.ok(priceFacetService.priceHistogram(name, minPrice, maxPrice, buckets));
+    }
+
+    @Operation(
+        summary = "Suggest products by name prefix", 
+        description = "Autocomplete for the search box. Matches the start of any word in the product name, " +
+                      "served from an in-memory index without a database query."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestService.Suggestion>> suggestProducts(
+            @Parameter(description = "Name prefix typed so far", required = true, example = "sma")
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productSuggestService.suggest(prefix, Math.max(1, Math.min(limit, 50))));
+    }
+
+    @Operation(
+        summary = "Get best-selling products", 
+        description = "Top products by units sold over a recent time window, from an in-memory heavy-hitters sketch. " +
+                      "Counts may overestimate by at most maxOverestimate."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Best-sellers retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or window"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
+    })
+    @GetMapping("/top")
+    public ResponseEntity<Map<String, Object>> getTopSellers(
+            @Parameter(description = "Number of products to return", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Window length in minutes", example = "60")
+            @RequestParam(defaultValue = "60") long windowMinutes) {
+        
+        if (limit < 1 || limit > 500 || windowMinutes < 1 || windowMinutes > topSellerService.getMaxWindowMinutes()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "limit must be 1-500 and windowMinutes 1-" + topSellerService.getMaxWindowMinutes());
+            return ResponseEntity.badRequest().body(error);
+        }
         
-        List<Product> products = productService.searchProducts(name, minPrice, maxPrice);
-        List<ProductDTO> productDTOs = products.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(productDTOs);
+        Map<String, Object> response = new HashMap<>();
+        response.put("windowMinutes", windowMinutes);
+        response.put("products", topSellerService.getTopSellers(limit, windowMinutes));
+        return ResponseEntity.ok(response);
     }
 
     @Operation(
         summary = "Get products with pagination and sorting", 
-        description = "Retrieve products with pagination and sorting options"
+        description = "Retrieve products with pagination and sorting options. With includeTotal=false the total is " +
+                      "not counted and hasNext comes from fetching one extra row."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Paginated products retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token")
     })
     @GetMapping("/paginated")
-    public ResponseEntity<Map<String, Object>> getProductsPaginated(
+    public ResponseEntity<ProductPageResponse> getProductsPaginated(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
@@ -187,28 +283,20 @@ public class ProductController {
             @Parameter(description = "Sort by field", example = "name")
             @RequestParam(defaultValue = "name") String sortBy,
             @Parameter(description = "Sort direction", example = "asc")
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Include totalItems/totalPages (from a short-lived count cache); false skips counting", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                    Sort.by(sortBy).descending() : 
                    Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Product> productPage = productService.getProductsPaginated(pageable);
-        
-        List<ProductDTO> products = productPage.getContent().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        Slice<Product> productPage = includeTotal
+                ? productService.getProductsPaginated(pageable)
+                : productService.getProductsSlice(pageable);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("products", products);
-        response.put("currentPage", productPage.getNumber());
-        response.put("totalItems", productPage.getTotalElements());
-        response.put("totalPages", productPage.getTotalPages());
-        response.put("hasNext", productPage.hasNext());
-        response.put("hasPrevious", productPage.hasPrevious());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(ProductPageResponse.of(productPage.map(this::toDTO)));
     }
 
     @Operation(
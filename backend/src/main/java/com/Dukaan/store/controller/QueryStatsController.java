@@ -0,0 +1,177 @@
+package com.Dukaan.store.controller;
+
+import com.Dukaan.store.service.QueryBudgetService;
+import com.Dukaan.store.service.QueryStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/queries")
+@Tag(name = "Query Statistics", description = "Admin APIs for SQL timings, slow queries and Hibernate statistics")
+@SecurityRequirement(name = "bearerAuth")
+public class QueryStatsController {
+
+    @Autowired
+    private QueryStatsService queryStatsService;
+
+    @Autowired
+    private QueryBudgetService queryBudgetService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Operation(
+        summary = "Get per-query statistics", 
+        description = "Execution count and timings for each distinct SQL statement (literals collapsed), " +
+                      "with the controller methods that issued it. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Query statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getQueryStats(
+            @Parameter(description = "Sort by total, count, max or mean", example = "total")
+            @RequestParam(defaultValue = "total") String sortBy,
+            @Parameter(description = "Maximum number of queries to return", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("sortBy", sortBy);
+        response.put("slowThresholdMs", queryStatsService.getSlowThresholdMs());
+        response.put("queries", queryStatsService.getStats(sortBy, Math.max(1, Math.min(limit, 500))));
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get recent slow queries", 
+        description = "The most recent statements that took longer than the slow-query threshold, newest first. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Slow queries retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping("/slow")
+    public ResponseEntity<Map<String, Object>> getSlowQueries() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("slowThresholdMs", queryStatsService.getSlowThresholdMs());
+        response.put("queries", queryStatsService.getSlowQueries());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get per-request SQL budgets", 
+        description = "Statements per request for each controller method: mean, max, its budget, requests over budget " +
+                      "and requests that repeated one statement past the N+1 threshold. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Budget statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping("/budgets")
+    public ResponseEntity<Map<String, Object>> getQueryBudgets() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("repeatThreshold", queryBudgetService.getRepeatThreshold());
+        response.put("endpoints", queryBudgetService.getEndpointStats());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get Hibernate statistics", 
+        description = "Session factory statistics: entity loads and fetches, collection fetches and per-JPQL-query timings. " +
+                      "Requires hibernate.generate_statistics=true and ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hibernate statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping("/hibernate")
+    public ResponseEntity<Map<String, Object>> getHibernateStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return ResponseEntity.ok(response);
+        }
+        
+        response.put("sessionsOpened", statistics.getSessionOpenCount());
+        response.put("transactions", statistics.getTransactionCount());
+        response.put("statementsPrepared", statistics.getPrepareStatementCount());
+        response.put("entityLoads", statistics.getEntityLoadCount());
+        response.put("entityFetches", statistics.getEntityFetchCount());
+        response.put("collectionLoads", statistics.getCollectionLoadCount());
+        response.put("collectionFetches", statistics.getCollectionFetchCount());
+        response.put("queryExecutions", statistics.getQueryExecutionCount());
+        response.put("queryExecutionMaxTimeMs", statistics.getQueryExecutionMaxTime());
+        response.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        
+        Map<String, Object> entities = new HashMap<>();
+        for (String entityName : statistics.getEntityNames()) {
+            EntityStatistics entity = statistics.getEntityStatistics(entityName);
+            Map<String, Object> counts = new HashMap<>();
+            counts.put("loads", entity.getLoadCount());
+            counts.put("fetches", entity.getFetchCount());
+            counts.put("inserts", entity.getInsertCount());
+            counts.put("updates", entity.getUpdateCount());
+            counts.put("deletes", entity.getDeleteCount());
+            entities.put(entityName.substring(entityName.lastIndexOf('.') + 1), counts);
+        }
+        response.put("entities", entities);
+        
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStats = statistics.getQueryStatistics(query);
+            Map<String, Object> row = new HashMap<>();
+            row.put("query", query);
+            row.put("executions", queryStats.getExecutionCount());
+            row.put("totalTimeMs", queryStats.getExecutionTotalTime());
+            row.put("maxTimeMs", queryStats.getExecutionMaxTime());
+            row.put("rows", queryStats.getExecutionRowCount());
+            queries.add(row);
+        }
+        queries.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("totalTimeMs")).reversed());
+        response.put("queries", queries);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Reset query statistics", 
+        description = "Clear the per-query statistics, the slow-query log, the per-request budget statistics and " +
+                      "Hibernate's statistics. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics cleared"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> resetQueryStats() {
+        queryStatsService.reset();
+        queryBudgetService.reset();
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Query statistics cleared");
+        return ResponseEntity.ok(response);
+    }
+}
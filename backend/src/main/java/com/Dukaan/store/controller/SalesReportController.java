@@ -0,0 +1,84 @@
+package com.Dukaan.store.controller;
+
+import com.Dukaan.store.model.DailySalesRollup;
+import com.Dukaan.store.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/sales")
+@Tag(name = "Sales Reports", description = "Admin APIs for pre-aggregated sales reports")
+@SecurityRequirement(name = "bearerAuth")
+public class SalesReportController {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Operation(
+        summary = "Get daily sales per product", 
+        description = "Units sold and revenue per product per day, read from the incrementally maintained rollup table. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Daily sales retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping("/daily")
+    public ResponseEntity<Map<String, Object>> getDailySales(
+            @Parameter(description = "Start date (YYYY-MM-DD), defaults to 30 days ago", example = "2024-01-01")
+            @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "End date (YYYY-MM-DD), defaults to today", example = "2024-12-31")
+            @RequestParam(required = false) LocalDate to,
+            @Parameter(description = "Restrict to one product", example = "1")
+            @RequestParam(required = false) Long productId) {
+        
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(30);
+        if (start.isAfter(end)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "from must not be after to");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        List<DailySalesRollup> rows = salesRollupService.getDailySales(start, end, productId);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("from", start.toString());
+        response.put("to", end.toString());
+        response.put("rows", rows);
+        response.put("totalUnits", rows.stream().mapToLong(DailySalesRollup::getUnits).sum());
+        response.put("totalRevenue", rows.stream().mapToDouble(DailySalesRollup::getRevenue).sum());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Rebuild sales rollups", 
+        description = "Recompute the rollups from order history for a date range, one day per parallel task. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rollups rebuilt successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups(
+            @Parameter(description = "Start date (YYYY-MM-DD), defaults to the first order", example = "2024-01-01")
+            @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "End date (YYYY-MM-DD), defaults to today", example = "2024-12-31")
+            @RequestParam(required = false) LocalDate to) throws Exception {
+        return ResponseEntity.ok(salesRollupService.rebuild(from, to));
+    }
+}
@@ -0,0 +1,58 @@
+package com.Dukaan.store.controller;
+
+import com.Dukaan.store.service.ProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/single-flight")
+@Tag(name = "Request Coalescing", description = "Admin APIs for single-flight statistics on product reads")
+@SecurityRequirement(name = "bearerAuth")
+public class SingleFlightController {
+
+    @Autowired
+    private ProductService productService;
+
+    @Operation(
+        summary = "Get single-flight statistics",
+        description = "Loads run, requests that shared another request's load, wait timeouts and the keys that " +
+                      "were coalesced most, for product-by-id reads and product searches. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStats(
+            @Parameter(description = "Number of most-coalesced keys to list", example = "20")
+            @RequestParam(defaultValue = "20") int top) {
+        return ResponseEntity.ok(productService.getSingleFlightMetrics(Math.max(0, Math.min(top, 100))));
+    }
+
+    @Operation(
+        summary = "Reset single-flight statistics",
+        description = "Clear the per-key counters. Loads in flight are not affected. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Statistics reset"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid or missing JWT token"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    @DeleteMapping("/stats")
+    public ResponseEntity<Map<String, String>> resetStats() {
+        productService.resetSingleFlightStats();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Single-flight statistics reset");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,7 +1,9 @@
 package com.Dukaan.store.controller;
 
 import com.Dukaan.store.dto.UserDTO;
+import com.Dukaan.store.dto.UserPageResponse;
 import com.Dukaan.store.model.User;
+import com.Dukaan.store.security.TokenRevocationService;
 import com.Dukaan.store.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,19 +15,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -38,6 +39,9 @@ public class UserController {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
     @Operation(
         summary = "Get all users", 
@@ -50,11 +54,9 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
     })
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Stream<UserDTO>> getAllUsers() {
+        // Mapped lazily while Jackson writes the array, so no DTO list is built
+        return ResponseEntity.ok(userService.getAllUsers().stream().map(this::toDTO));
     }
 
     @Operation(
@@ -189,6 +191,7 @@ public class UserController {
         
         user.setPassword(passwordEncoder.encode(newPassword));
         userService.updateUser(user);
+        tokenRevocationService.revokeAllForUser(user.getEmail());
         
         Map<String, String> response = new HashMap<>();
         response.put("message", "Password changed successfully");
@@ -197,7 +200,8 @@ public class UserController {
 
     @Operation(
         summary = "Get users with pagination and search", 
-        description = "Retrieve users with pagination and optional search by name or email"
+        description = "Retrieve users with pagination and optional search by name or email. With includeTotal=false " +
+                      "the total is not counted and hasNext comes from fetching one extra row."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Paginated users retrieved successfully"),
@@ -205,7 +209,7 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
     })
     @GetMapping("/paginated")
-    public ResponseEntity<Map<String, Object>> getUsersPaginated(
+    public ResponseEntity<UserPageResponse> getUsersPaginated(
             @Parameter(description = "Search term for name or email", example = "john")
             @RequestParam(required = false) String search,
             @Parameter(description = "Page number (0-based)", example = "0")
@@ -215,28 +219,20 @@ public class UserController {
             @Parameter(description = "Sort by field", example = "name")
             @RequestParam(defaultValue = "name") String sortBy,
             @Parameter(description = "Sort direction", example = "asc")
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Include totalItems/totalPages (from a short-lived count cache); false skips counting", example = "true")
+            @RequestParam(defaultValue = "true") boolean includeTotal) {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                    Sort.by(sortBy).descending() : 
                    Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<User> userPage = userService.getUsersPaginated(search, pageable);
-        
-        List<UserDTO> users = userPage.getContent().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        Slice<User> userPage = includeTotal
+                ? userService.getUsersPaginated(search, pageable)
+                : userService.getUsersSlice(search, pageable);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("users", users);
-        response.put("currentPage", userPage.getNumber());
-        response.put("totalItems", userPage.getTotalElements());
-        response.put("totalPages", userPage.getTotalPages());
-        response.put("hasNext", userPage.hasNext());
-        response.put("hasPrevious", userPage.hasPrevious());
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(UserPageResponse.of(userPage.map(this::toDTO)));
     }
 
     @Operation(
@@ -276,6 +272,7 @@ public class UserController {
             return ResponseEntity.notFound().build();
         }
         userService.deleteUser(id);
+        tokenRevocationService.revokeAllForUser(user.getEmail());
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,47 @@
+package com.Dukaan.store.dto;
+
+public class BatchOrderResult {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private Long orderId;
+    private double total;
+    private String error;
+
+    public BatchOrderResult() {}
+
+    public static BatchOrderResult created(int index, Long orderId, double total) {
+        BatchOrderResult result = new BatchOrderResult();
+        result.index = index;
+        result.status = CREATED;
+        result.orderId = orderId;
+        result.total = total;
+        return result;
+    }
+
+    public static BatchOrderResult rejected(int index, String error) {
+        BatchOrderResult result = new BatchOrderResult();
+        result.index = index;
+        result.status = REJECTED;
+        result.error = error;
+        return result;
+    }
+
+    // Getters and setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public double getTotal() { return total; }
+    public void setTotal(double total) { this.total = total; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -1,7 +1,17 @@
 package com.Dukaan.store.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One order line. On input {@code product} names the product to order. Lines read
+ * back from an order leave it out and carry {@code productId} plus the name and
+ * price captured at checkout instead, so they render without loading the product.
+ */
 public class OrderItemDTO {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private ProductDTO product;
+    private Long productId;
+    private String productName;
     private int quantity;
     private double price;
 
@@ -9,6 +19,12 @@ public class OrderItemDTO {
     public ProductDTO getProduct() { return product; }
     public void setProduct(ProductDTO product) { this.product = product; }
 
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
     public int getQuantity() { return quantity; }
     public void setQuantity(int quantity) { this.quantity = quantity; }
 
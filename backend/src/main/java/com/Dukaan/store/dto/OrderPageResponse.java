@@ -0,0 +1,26 @@
+package com.Dukaan.store.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import java.util.List;
+
+/**
+ * One page of order summaries, as returned by the paginated orders endpoint.
+ * totalItems and totalPages are null when the total was not requested.
+ */
+public record OrderPageResponse(
+        List<OrderSummaryDTO> orders,
+        int currentPage,
+        Long totalItems,
+        Integer totalPages,
+        boolean hasNext,
+        boolean hasPrevious) {
+
+    public static OrderPageResponse of(Slice<OrderSummaryDTO> slice) {
+        if (slice instanceof Page<OrderSummaryDTO> page) {
+            return new OrderPageResponse(page.getContent(), page.getNumber(), page.getTotalElements(),
+                    page.getTotalPages(), page.hasNext(), page.hasPrevious());
+        }
+        return new OrderPageResponse(slice.getContent(), slice.getNumber(), null, null, slice.hasNext(), slice.hasPrevious());
+    }
+}
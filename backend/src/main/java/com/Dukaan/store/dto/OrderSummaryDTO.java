@@ -0,0 +1,15 @@
+package com.Dukaan.store.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of an order list. The lines are only returned by the order detail endpoint.
+ */
+public record OrderSummaryDTO(
+        Long id,
+        String userEmail,
+        int itemCount,
+        double total,
+        String status,
+        LocalDateTime createdAt) {
+}
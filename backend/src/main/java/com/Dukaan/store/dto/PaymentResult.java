@@ -0,0 +1,40 @@
+package com.Dukaan.store.dto;
+
+public class PaymentResult {
+    private String provider;
+    private boolean success;
+    private String transactionId;
+    private double amount;
+    private String message;
+    private long latencyMs;
+
+    public PaymentResult() {}
+
+    public PaymentResult(String provider, boolean success, String transactionId, double amount, String message, long latencyMs) {
+        this.provider = provider;
+        this.success = success;
+        this.transactionId = transactionId;
+        this.amount = amount;
+        this.message = message;
+        this.latencyMs = latencyMs;
+    }
+
+    // Getters and setters
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public long getLatencyMs() { return latencyMs; }
+    public void setLatencyMs(long latencyMs) { this.latencyMs = latencyMs; }
+}
@@ -0,0 +1,26 @@
+package com.Dukaan.store.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import java.util.List;
+
+/**
+ * One page of products, as returned by the paginated products endpoint.
+ * totalItems and totalPages are null when the total was not requested.
+ */
+public record ProductPageResponse(
+        List<ProductDTO> products,
+        int currentPage,
+        Long totalItems,
+        Integer totalPages,
+        boolean hasNext,
+        boolean hasPrevious) {
+
+    public static ProductPageResponse of(Slice<ProductDTO> slice) {
+        if (slice instanceof Page<ProductDTO> page) {
+            return new ProductPageResponse(page.getContent(), page.getNumber(), page.getTotalElements(),
+                    page.getTotalPages(), page.hasNext(), page.hasPrevious());
+        }
+        return new ProductPageResponse(slice.getContent(), slice.getNumber(), null, null, slice.hasNext(), slice.hasPrevious());
+    }
+}
@@ -0,0 +1,26 @@
+package com.Dukaan.store.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import java.util.List;
+
+/**
+ * One page of users, as returned by the paginated users endpoint.
+ * totalItems and totalPages are null when the total was not requested.
+ */
+public record UserPageResponse(
+        List<UserDTO> users,
+        int currentPage,
+        Long totalItems,
+        Integer totalPages,
+        boolean hasNext,
+        boolean hasPrevious) {
+
+    public static UserPageResponse of(Slice<UserDTO> slice) {
+        if (slice instanceof Page<UserDTO> page) {
+            return new UserPageResponse(page.getContent(), page.getNumber(), page.getTotalElements(),
+                    page.getTotalPages(), page.hasNext(), page.hasPrevious());
+        }
+        return new UserPageResponse(slice.getContent(), slice.getNumber(), null, null, slice.hasNext(), slice.hasPrevious());
+    }
+}
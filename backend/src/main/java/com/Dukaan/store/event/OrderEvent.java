@@ -0,0 +1,39 @@
+package com.Dukaan.store.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by OrderService inside the order's transaction. Carries a snapshot
+ * of the order lines so listeners never have to reload the order.
+ */
+public class OrderEvent {
+
+    public enum Type { PLACED, STATUS_CHANGED, CANCELLED }
+
+    public record Line(Long productId, String productName, int quantity, double unitPrice) {}
+
+    private final Type type;
+    private final Long orderId;
+    private final LocalDateTime orderCreatedAt;
+    private final String status;
+    private final List<Line> lines;
+
+    public OrderEvent(Type type, Long orderId, LocalDateTime orderCreatedAt, String status, List<Line> lines) {
+        this.type = type;
+        this.orderId = orderId;
+        this.orderCreatedAt = orderCreatedAt;
+        this.status = status;
+        this.lines = lines;
+    }
+
+    public Type getType() { return type; }
+
+    public Long getOrderId() { return orderId; }
+
+    public LocalDateTime getOrderCreatedAt() { return orderCreatedAt; }
+
+    public String getStatus() { return status; }
+
+    public List<Line> getLines() { return lines; }
+}
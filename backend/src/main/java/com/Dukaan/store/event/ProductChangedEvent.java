@@ -0,0 +1,46 @@
+package com.Dukaan.store.event;
+
+/**
+ * Published whenever a product row is inserted, updated or deleted.
+ * Listeners that keep derived catalog state (caches, indexes) should
+ * react to it after the surrounding transaction commits. Events from JPA
+ * writes carry the product's name, description, price and stock as written;
+ * events for writes made with plain SQL leave them null, and listeners must
+ * reload the row.
+ */
+public class ProductChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Long productId;
+    private final Type type;
+    private final String name;
+    private final String description;
+    private final Double price;
+    private final Integer stock;
+
+    public ProductChangedEvent(Long productId, Type type) {
+        this(productId, type, null, null, null, null);
+    }
+
+    public ProductChangedEvent(Long productId, Type type, String name, String description, Double price, Integer stock) {
+        this.productId = productId;
+        this.type = type;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.stock = stock;
+    }
+
+    public Long getProductId() { return productId; }
+
+    public Type getType() { return type; }
+
+    public String getName() { return name; }
+
+    public String getDescription() { return description; }
+
+    public Double getPrice() { return price; }
+
+    public Integer getStock() { return stock; }
+}
@@ -0,0 +1,41 @@
+package com.Dukaan.store.event;
+
+import com.Dukaan.store.model.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener that turns product writes into {@link ProductChangedEvent}s.
+ * Catches every write path, including stock changes made by order checkout
+ * and cancellation through the repository directly.
+ */
+public class ProductEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreate(Product product) {
+        publish(product, ProductChangedEvent.Type.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Product product) {
+        publish(product, ProductChangedEvent.Type.UPDATED);
+    }
+
+    @PostRemove
+    public void onDelete(Product product) {
+        publish(product, ProductChangedEvent.Type.DELETED);
+    }
+
+    private void publish(Product product, ProductChangedEvent.Type type) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), type, product.getName(),
+                    product.getDescription(), product.getPrice(), product.getStock()));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.Dukaan.store.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lets DEBUG and TRACE through for a sampled fraction of requests, per logger category.
+ * Every request carries a uniform random value in the MDC (see {@code RequestSamplingFilter});
+ * a debug event is accepted when that value is below the rate of the longest matching
+ * category, so a request sampled at 0.1% also gets everything sampled at 1%.
+ * Everything else is left to the configured logger levels.
+ *
+ * <p>Configured from logback-spring.xml, e.g.
+ * {@code <categoryRates>com.Dukaan.store=0.01,org.hibernate.SQL=0.01</categoryRates>}.
+ */
+public class SampledLoggingTurboFilter extends TurboFilter {
+
+    public static final String SAMPLE_KEY = "sample";
+
+    private static final double NOT_SAMPLED = -1;
+
+    private final Map<String, Double> categoryRates = new LinkedHashMap<>();
+    private final ConcurrentHashMap<String, Double> rateByLogger = new ConcurrentHashMap<>();
+
+    public void setCategoryRates(String rates) {
+        categoryRates.clear();
+        rateByLogger.clear();
+        if (rates == null || rates.isBlank()) {
+            return;
+        }
+        for (String entry : rates.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length == 2) {
+                categoryRates.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Called for every log statement, enabled or not: keep the common path trivial
+        if (level == null || level.levelInt >= Level.INFO_INT || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        String sample = MDC.get(SAMPLE_KEY);
+        if (sample == null) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = rateFor(logger.getName());
+        if (rate > 0 && Double.parseDouble(sample) < rate) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    double rateFor(String loggerName) {
+        Double cached = rateByLogger.get(loggerName);
+        if (cached != null) {
+            return cached;
+        }
+        double rate = NOT_SAMPLED;
+        int longest = -1;
+        for (Map.Entry<String, Double> entry : categoryRates.entrySet()) {
+            String category = entry.getKey();
+            boolean matches = loggerName.equals(category)
+                    || (loggerName.startsWith(category) && loggerName.charAt(category.length()) == '.');
+            if (matches && category.length() > longest) {
+                longest = category.length();
+                rate = entry.getValue();
+            }
+        }
+        rateByLogger.put(loggerName, rate);
+        return rate;
+    }
+}
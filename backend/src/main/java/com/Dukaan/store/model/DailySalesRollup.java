@@ -0,0 +1,52 @@
+package com.Dukaan.store.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Units sold and revenue per product per day, maintained incrementally on
+ * checkout and cancellation (see SalesRollupService).
+ */
+@Entity
+@Table(name = "daily_sales_rollup",
+       uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_rollup_day_product", columnNames = {"sales_day", "product_id"}),
+       indexes = @Index(name = "idx_daily_sales_rollup_product_day", columnList = "product_id, sales_day"))
+public class DailySalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    private long units;
+    private double revenue;
+
+    public DailySalesRollup() {}
+
+    public DailySalesRollup(LocalDate day, Long productId, long units, double revenue) {
+        this.day = day;
+        this.productId = productId;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public Long getProductId() { return productId; }
+    public void setProductId(Long productId) { this.productId = productId; }
+
+    public long getUnits() { return units; }
+    public void setUnits(long units) { this.units = units; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+}
@@ -1,10 +1,12 @@
 package com.Dukaan.store.model;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "orders") // Because 'Order' is a reserved SQL word
+@Table(name = "orders", // Because 'Order' is a reserved SQL word
+       indexes = @Index(name = "idx_orders_created_at", columnList = "createdAt"))
 public class Order {
 
     @Id
@@ -13,6 +15,11 @@ public class Order {
 
     private double totalPrice;
 
+    private String status = "PENDING";
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
@@ -28,12 +35,25 @@ public class Order {
         this.totalPrice = totalPrice;
     }
 
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
 
     public double getTotalPrice() { return totalPrice; }
     public void setTotalPrice(double totalPrice) { this.totalPrice = totalPrice; }
 
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
 
@@ -11,20 +11,40 @@ public class OrderItem {
 
     private int quantity;
 
+    // Price and name as they were at checkout, so orders render without loading the product
+    private Double unitPrice;
+
+    private String productName;
+
     @ManyToOne
     @JoinColumn(name = "order_id")
     private Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
 
+    // Read-only view of product_id, so rendering a line never initializes the lazy product
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Long productId;
+
     public OrderItem() {}
 
     public OrderItem(Order order, Product product, int quantity) {
         this.order = order;
         this.product = product;
         this.quantity = quantity;
+        snapshotProduct();
+    }
+
+    /**
+     * Copy the product's current price and name onto this line.
+     */
+    public void snapshotProduct() {
+        if (product != null) {
+            this.unitPrice = product.getPrice();
+            this.productName = product.getName();
+        }
     }
 
     // Getters and Setters
@@ -33,6 +53,17 @@ public class OrderItem {
     public int getQuantity() { return quantity; }
     public void setQuantity(int quantity) { this.quantity = quantity; }
 
+    public Double getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(Double unitPrice) { this.unitPrice = unitPrice; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public Long getProductId() {
+        // Not populated until the line has been read back; a new line still holds its product
+        return productId != null || product == null ? productId : product.getId();
+    }
+
     public Order getOrder() { return order; }
     public void setOrder(Order order) { this.order = order; }
 
@@ -0,0 +1,72 @@
+package com.Dukaan.store.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per order with everything the order lists show, kept in step with the
+ * order by OrderSummaryService inside the same transaction. List and filter queries
+ * read this table alone; the full order is only loaded for the detail view.
+ */
+@Entity
+@Table(name = "order_summary",
+       indexes = {
+           @Index(name = "idx_order_summary_created_at", columnList = "created_at"),
+           @Index(name = "idx_order_summary_status_created_at", columnList = "status, created_at"),
+           @Index(name = "idx_order_summary_user_created_at", columnList = "user_id, created_at")
+       })
+public class OrderSummary {
+
+    // Same value as the order's id
+    @Id
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String userEmail;
+
+    // Total units across all lines
+    private int itemCount;
+
+    private double totalPrice;
+
+    private String status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public OrderSummary() {}
+
+    public OrderSummary(Long id, Long userId, String userEmail, int itemCount, double totalPrice,
+                        String status, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.itemCount = itemCount;
+        this.totalPrice = totalPrice;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    public double getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(double totalPrice) { this.totalPrice = totalPrice; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
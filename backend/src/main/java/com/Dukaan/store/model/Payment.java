@@ -0,0 +1,79 @@
+package com.Dukaan.store.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One attempt to charge an order. Created PENDING before the gateway is called and
+ * settled with the gateway's answer, even when that answer arrives after the request
+ * has timed out. TIMED_OUT and REFUND_REQUIRED rows need reconciling with the provider.
+ */
+@Entity
+@Table(name = "payment", indexes = {
+        @Index(name = "idx_payment_order_id", columnList = "orderId"),
+        @Index(name = "idx_payment_status", columnList = "status")
+})
+public class Payment {
+
+    public static final String PENDING = "PENDING";
+    public static final String APPROVED = "APPROVED";
+    public static final String DECLINED = "DECLINED";
+    public static final String FAILED = "FAILED";
+    public static final String TIMED_OUT = "TIMED_OUT";
+    // Charged, but the order was changed (e.g. cancelled) while the charge was in flight
+    public static final String REFUND_REQUIRED = "REFUND_REQUIRED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long orderId;
+    private String provider;
+    private double amount;
+    private String status;
+    private String transactionId;
+    private String message;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime settledAt;
+
+    public Payment() {}
+
+    public Payment(Long orderId, String provider, double amount) {
+        this.orderId = orderId;
+        this.provider = provider;
+        this.amount = amount;
+        this.status = PENDING;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+
+    public Long getOrderId() { return orderId; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public double getAmount() { return amount; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getTransactionId() { return transactionId; }
+    public void setTransactionId(String transactionId) { this.transactionId = transactionId; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getSettledAt() { return settledAt; }
+    public void setSettledAt(LocalDateTime settledAt) { this.settledAt = settledAt; }
+}
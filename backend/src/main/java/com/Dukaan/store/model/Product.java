@@ -1,8 +1,11 @@
 package com.Dukaan.store.model;
 
+import com.Dukaan.store.event.ProductEntityListener;
 import jakarta.persistence.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_product_price", columnList = "price"))
+@EntityListeners(ProductEntityListener.class)
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,6 +26,15 @@ public class Product {
         this.stock = stock;
     }
 
+    // Detached copy, for handing one loaded product to several requests
+    public Product(Product other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.price = other.price;
+        this.stock = other.stock;
+    }
+
     // Getters and Setters
     public Long getId() { 
         return id; 
@@ -0,0 +1,65 @@
+package com.Dukaan.store.model;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+/**
+ * A revoked JWT, or a per-user "not before" cut-off when {@code jti} is null.
+ * Rows can be purged once {@code expiresAt} has passed, since every token
+ * they could match has expired by then.
+ */
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_revoked_token_created_at", columnList = "createdAt")
+})
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private String jti;
+
+    private String subject;
+    private Date notBefore;
+    private Date expiresAt;
+
+    @Column(updatable = false)
+    private Date createdAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, String subject, Date notBefore, Date expiresAt) {
+        this.jti = jti;
+        this.subject = subject;
+        this.notBefore = notBefore;
+        this.expiresAt = expiresAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = new Date();
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+
+    public String getJti() { return jti; }
+    public void setJti(String jti) { this.jti = jti; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public Date getNotBefore() { return notBefore; }
+    public void setNotBefore(Date notBefore) { this.notBefore = notBefore; }
+
+    public Date getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Date expiresAt) { this.expiresAt = expiresAt; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,26 @@
+package com.Dukaan.store.repository;
+
+import com.Dukaan.store.model.DailySalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, Long> {
+    List<DailySalesRollup> findByDayBetweenOrderByDayAscRevenueDesc(LocalDate from, LocalDate to);
+
+    List<DailySalesRollup> findByProductIdAndDayBetweenOrderByDayAsc(Long productId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("update DailySalesRollup r set r.units = r.units + :units, r.revenue = r.revenue + :revenue " +
+           "where r.day = :day and r.productId = :productId")
+    int increment(@Param("day") LocalDate day, @Param("productId") Long productId,
+                  @Param("units") long units, @Param("revenue") double revenue);
+
+    @Modifying
+    @Query("delete from DailySalesRollup r where r.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+}
@@ -2,6 +2,33 @@ package com.Dukaan.store.repository;
 
 import com.Dukaan.store.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // Rows of [productId, units, revenue] for non-cancelled orders placed in [start, end)
+    @Query("select i.product.id, sum(i.quantity), sum(i.quantity * i.unitPrice) from OrderItem i " +
+           "where i.order.createdAt >= :start and i.order.createdAt < :end " +
+           "and (i.order.status is null or i.order.status <> 'CANCELLED') " +
+           "group by i.product.id")
+    List<Object[]> sumSalesByProduct(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // Rows of [orderId, productId, productName, orderCreatedAt, quantity] for non-cancelled orders placed since the given time
+    @Query("select i.order.id, i.product.id, i.productName, i.order.createdAt, i.quantity from OrderItem i " +
+           "where i.order.createdAt >= :since " +
+           "and (i.order.status is null or i.order.status <> 'CANCELLED')")
+    List<Object[]> findSalesSince(@Param("since") LocalDateTime since);
+
+    @Query("select min(o.createdAt) from Order o")
+    LocalDateTime findEarliestCreatedAt();
+
+    // Compare-and-set on the status: 1 if the order was in state "from", 0 if another request got there first
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.status = :to where o.id = :id and o.status = :from")
+    int updateStatusIf(@Param("id") Long id, @Param("from") String from, @Param("to") String to);
 }
@@ -0,0 +1,46 @@
+package com.Dukaan.store.repository;
+
+import com.Dukaan.store.model.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+    List<OrderSummary> findAllByOrderByCreatedAtDesc();
+
+    List<OrderSummary> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // Slices fetch one extra row to tell whether there is a next page; totals come from the count methods.
+    // Without a date filter no createdAt predicate is applied, so legacy rows with no date still match.
+    Slice<OrderSummary> findAllBy(Pageable pageable);
+
+    Slice<OrderSummary> findByStatus(String status, Pageable pageable);
+
+    long countByStatus(String status);
+
+    Slice<OrderSummary> findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    Slice<OrderSummary> findByStatusAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(
+            String status, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime start, LocalDateTime end);
+
+    long countByStatusAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(String status, LocalDateTime start, LocalDateTime end);
+
+    @Modifying
+    @Query("update OrderSummary s set s.status = :status where s.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+    @Modifying
+    // Only rows still showing another address are written, so saves that keep the email are free
+    @Query("update OrderSummary s set s.userEmail = :email " +
+           "where s.userId = :userId and (s.userEmail is null or s.userEmail <> :email)")
+    int updateUserEmail(@Param("userId") Long userId, @Param("email") String email);
+}
@@ -0,0 +1,22 @@
+package com.Dukaan.store.repository;
+
+import com.Dukaan.store.model.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    List<Payment> findByStatusInOrderByCreatedAtAsc(Collection<String> statuses);
+
+    List<Payment> findByOrderIdOrderByCreatedAtAsc(Long orderId);
+
+    // Only a payment still waiting on the gateway can time out; a settled one keeps its answer
+    @Modifying
+    @Query("update Payment p set p.status = 'TIMED_OUT' where p.id = :id and p.status = 'PENDING'")
+    int markTimedOut(@Param("id") Long id);
+}
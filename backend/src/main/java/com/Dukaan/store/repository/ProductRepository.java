@@ -1,8 +1,49 @@
 package com.Dukaan.store.repository;
 
 import com.Dukaan.store.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    // You can add custom queries later if needed
+    List<Product> findByNameInOrderByIdAsc(Collection<String> names);
+
+    // Fetches one extra row to tell whether there is a next page, without counting
+    Slice<Product> findAllBy(Pageable pageable);
+
+    Page<Product> findByPriceBetween(double minPrice, double maxPrice, Pageable pageable);
+
+    // PostgreSQL only: needs the search_vector column and GIN index from ProductFullTextIndex
+    @Query(value = "SELECT p.id, p.name, p.description, p.price, p.stock " +
+                   "FROM product p, websearch_to_tsquery('english', :query) q " +
+                   "WHERE p.search_vector @@ q AND p.price BETWEEN :minPrice AND :maxPrice " +
+                   "ORDER BY ts_rank(p.search_vector, q) DESC, p.id",
+           countQuery = "SELECT count(*) FROM product p " +
+                        "WHERE p.search_vector @@ websearch_to_tsquery('english', :query) " +
+                        "AND p.price BETWEEN :minPrice AND :maxPrice",
+           nativeQuery = true)
+    Page<Product> searchFullText(@Param("query") String query, @Param("minPrice") double minPrice,
+                                 @Param("maxPrice") double maxPrice, Pageable pageable);
+
+    // Ids matching the same tsquery as searchFullText, for price facets
+    @Query(value = "SELECT p.id FROM product p WHERE p.search_vector @@ websearch_to_tsquery('english', :query)",
+           nativeQuery = true)
+    List<Long> searchFullTextIds(@Param("query") String query);
+
+    // Portable fallback: substring match, name matches ranked above description-only matches
+    @Query(value = "select p from Product p " +
+                   "where (lower(p.name) like :pattern escape '!' or lower(p.description) like :pattern escape '!') " +
+                   "and p.price between :minPrice and :maxPrice " +
+                   "order by case when lower(p.name) like :pattern escape '!' then 0 else 1 end, p.id",
+           countQuery = "select count(p) from Product p " +
+                        "where (lower(p.name) like :pattern escape '!' or lower(p.description) like :pattern escape '!') " +
+                        "and p.price between :minPrice and :maxPrice")
+    Page<Product> searchByPattern(@Param("pattern") String pattern, @Param("minPrice") double minPrice,
+                                  @Param("maxPrice") double maxPrice, Pageable pageable);
 }
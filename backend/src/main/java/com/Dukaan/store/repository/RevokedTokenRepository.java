@@ -0,0 +1,19 @@
+package com.Dukaan.store.repository;
+
+import com.Dukaan.store.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    List<RevokedToken> findByExpiresAtAfter(Date now);
+
+    List<RevokedToken> findByCreatedAtGreaterThanEqualAndExpiresAtAfter(Date since, Date now);
+
+    @Modifying
+    @Transactional
+    long deleteByExpiresAtBefore(Date now);
+}
@@ -1,8 +1,29 @@
 package com.Dukaan.store.repository;
 
 import com.Dukaan.store.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByEmail(String email); // For login and auth
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    // Case-insensitive substring match; on PostgreSQL served by the trigram indexes from UserTrigramIndex
+    @Query("select u from User u " +
+           "where lower(u.name) like :pattern escape '!' or lower(u.email) like :pattern escape '!'")
+    Slice<User> searchByNameOrEmail(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("select count(u) from User u " +
+           "where lower(u.name) like :pattern escape '!' or lower(u.email) like :pattern escape '!'")
+    long countByNameOrEmail(@Param("pattern") String pattern);
+
+    // Fetches one extra row to tell whether there is a next page, without counting
+    Slice<User> findAllBy(Pageable pageable);
 }
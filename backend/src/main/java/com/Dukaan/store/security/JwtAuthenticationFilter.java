@@ -25,6 +25,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     // Use the same secret key as in JwtUtil
     private final String SECRET_KEY = "mySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256Algorithm";
 
@@ -47,7 +50,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         .build()
                         .parseSignedClaims(token)
                         .getPayload();
-                username = claims.getSubject();
+                if (tokenRevocationService.isRevoked(claims)) {
+                    logger.debug("Rejected revoked JWT token for " + claims.getSubject());
+                } else {
+                    username = claims.getSubject();
+                }
             } catch (Exception e) {
                 // Invalid token - log for debugging
                 logger.debug("Invalid JWT token: " + e.getMessage());
@@ -10,6 +10,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.nio.charset.StandardCharsets;
 
@@ -18,6 +19,8 @@ public class JwtUtil {
     // Use a more secure secret key (in production, this should be externalized)
     private final String SECRET_KEY = "mySecretKeyForJWTTokenGenerationThatIsLongEnoughForHS256Algorithm";
     private final long EXPIRATION = 1000 * 60 * 60 * 10; // 10 hours
+    // "iat" only has second precision; revocation cut-offs compare against this instead
+    public static final String ISSUED_AT_MILLIS = "iat_ms";
 
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
@@ -27,6 +30,22 @@ public class JwtUtil {
         return extractClaim(token, Claims::getSubject);
     }
 
+    public long getExpirationMillis() {
+        return EXPIRATION;
+    }
+
+    /**
+     * Issue time in milliseconds, falling back to the second-precision "iat" for older tokens.
+     */
+    public static Long issuedAtMillis(Claims claims) {
+        Object millis = claims.get(ISSUED_AT_MILLIS);
+        if (millis instanceof Number number) {
+            return number.longValue();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : null;
+    }
+
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
@@ -54,11 +73,14 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
+                .claim(ISSUED_AT_MILLIS, now)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
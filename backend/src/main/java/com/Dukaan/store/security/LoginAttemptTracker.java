@@ -0,0 +1,164 @@
+package com.Dukaan.store.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory sliding-window counter of failed logins, keyed by email and by client IP.
+ * Keeps credential-stuffing bursts off the users table: only the final lockout
+ * decision is persisted by the caller. Unknown emails are tracked the same way
+ * as real ones, so probing non-existent accounts is throttled too. At most
+ * {@code max-tracked-keys} keys are kept: when full, idle keys are dropped first,
+ * then the least recently failing ones (locked keys last), and new keys go
+ * untracked until a sweep has made room.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    private final int maxEmailFailures;
+    private final int maxIpFailures;
+    private final long windowMillis;
+    private final long lockMillis;
+    private final int maxTrackedKeys;
+    private final AtomicLong lastSweep = new AtomicLong();
+
+    public LoginAttemptTracker(
+            @Value("${store.login.max-email-failures:5}") int maxEmailFailures,
+            @Value("${store.login.max-ip-failures:20}") int maxIpFailures,
+            @Value("${store.login.window-minutes:15}") long windowMinutes,
+            @Value("${store.login.lock-minutes:15}") long lockMinutes,
+            @Value("${store.login.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.maxEmailFailures = maxEmailFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.windowMillis = windowMinutes * 60 * 1000;
+        this.lockMillis = lockMinutes * 60 * 1000;
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public boolean isEmailBlocked(String email) {
+        return isBlocked(emailKey(email), System.currentTimeMillis());
+    }
+
+    public boolean isIpBlocked(String ip) {
+        return isBlocked(ipKey(ip), System.currentTimeMillis());
+    }
+
+    /**
+     * Record a failed attempt.
+     * @return the time until which the email is now locked, or 0 if this failure did not trigger a lock
+     */
+    public long recordFailure(String email, String ip) {
+        long now = System.currentTimeMillis();
+        sweepIfNeeded(now);
+        if (ip != null) {
+            window(ipKey(ip), maxIpFailures).fail(now, windowMillis, lockMillis);
+        }
+        return window(emailKey(email), maxEmailFailures).fail(now, windowMillis, lockMillis);
+    }
+
+    public void recordSuccess(String email) {
+        windows.remove(emailKey(email));
+    }
+
+    public long getLockMillis() {
+        return lockMillis;
+    }
+
+    private boolean isBlocked(String key, long now) {
+        Window window = windows.get(key);
+        return window != null && window.isBlocked(now);
+    }
+
+    private Window window(String key, int limit) {
+        Window window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= maxTrackedKeys) {
+            // Full until the next sweep: count this failure without remembering it
+            return new Window(limit);
+        }
+        return windows.computeIfAbsent(key, k -> new Window(limit));
+    }
+
+    private void sweepIfNeeded(long now) {
+        long previous = lastSweep.get();
+        // One sweeping thread at a time; the others carry on with their login
+        if (windows.size() < maxTrackedKeys || now - previous < 1000 || !lastSweep.compareAndSet(previous, now)) {
+            return;
+        }
+        windows.entrySet().removeIf(e -> e.getValue().isIdle(now, windowMillis));
+        // Still nearly full with active keys: evict the least recently failing, unlocked ones first,
+        // leaving headroom so new keys are tracked again until the next sweep
+        int target = maxTrackedKeys - Math.max(1, maxTrackedKeys / 10);
+        int excess = windows.size() - target;
+        if (excess > 0) {
+            // Sort a snapshot: concurrent failures keep changing the live windows
+            List<Candidate> candidates = new ArrayList<>(windows.size());
+            windows.forEach((key, window) -> candidates.add(new Candidate(key, window, window.isBlocked(now), window.latest())));
+            candidates.sort(Comparator.comparing(Candidate::blocked).thenComparingLong(Candidate::latest));
+            candidates.subList(0, Math.min(excess, candidates.size()))
+                    .forEach(candidate -> windows.remove(candidate.key(), candidate.window()));
+        }
+    }
+
+    private record Candidate(String key, Window window, boolean blocked, long latest) {}
+
+    int trackedKeys() {
+        return windows.size();
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.trim().toLowerCase();
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+
+    /**
+     * Ring buffer of the last {@code limit} failure timestamps for one key.
+     */
+    private static final class Window {
+        private final long[] failures;
+        private int next;
+        private long blockedUntil;
+
+        Window(int limit) {
+            this.failures = new long[limit];
+        }
+
+        synchronized long fail(long now, long windowMillis, long lockMillis) {
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+            // The oldest of the last N failures still inside the window means N failures in the window
+            if (blockedUntil <= now && failures[next] > now - windowMillis) {
+                blockedUntil = now + lockMillis;
+                Arrays.fill(failures, 0L);
+                return blockedUntil;
+            }
+            return 0;
+        }
+
+        synchronized boolean isBlocked(long now) {
+            return blockedUntil > now;
+        }
+
+        synchronized boolean isIdle(long now, long windowMillis) {
+            return blockedUntil <= now && latest() <= now - windowMillis;
+        }
+
+        synchronized long latest() {
+            return failures[(next + failures.length - 1) % failures.length];
+        }
+    }
+}
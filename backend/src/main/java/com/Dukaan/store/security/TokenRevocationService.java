@@ -0,0 +1,162 @@
+package com.Dukaan.store.security;
+
+import com.Dukaan.store.model.RevokedToken;
+import com.Dukaan.store.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list for issued JWTs, backed by the {@code revoked_token} table.
+ * Lookups on the request path never touch the database: Bloom filters answer
+ * the common not-revoked case, and small exact maps confirm the rest.
+ * Rows written by other instances are picked up by a periodic refresh, which
+ * re-reads everything created since shortly before the previous refresh so a
+ * row that commits late, or on an instance with a skewed clock, is not missed.
+ * Applying a row twice is harmless.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${store.jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${store.jwt.revocation.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    private static final class RevocationList {
+        final Map<String, Long> revokedJtis = new ConcurrentHashMap<>();
+        final Map<String, Long> notBeforeBySubject = new ConcurrentHashMap<>();
+        final BloomFilter jtiFilter;
+        final BloomFilter subjectFilter;
+
+        RevocationList(int capacity) {
+            jtiFilter = new BloomFilter(capacity, 0.01);
+            subjectFilter = new BloomFilter(capacity, 0.01);
+        }
+    }
+
+    // Filled completely by rebuild() before it is swapped in, so readers never see a half-built list
+    private volatile RevocationList revocations = new RevocationList(1);
+    private long lastRefresh = 0;
+
+    /**
+     * Cheap check run for every authenticated request.
+     */
+    public boolean isRevoked(Claims claims) {
+        RevocationList list = revocations;
+        String jti = claims.getId();
+        if (jti != null && list.jtiFilter.mightContain(jti) && list.revokedJtis.containsKey(jti)) {
+            return true;
+        }
+        String subject = claims.getSubject();
+        if (subject != null && list.subjectFilter.mightContain(subject)) {
+            Long notBefore = list.notBeforeBySubject.get(subject);
+            Long issuedAt = JwtUtil.issuedAtMillis(claims);
+            return notBefore != null && (issuedAt == null || issuedAt < notBefore);
+        }
+        return false;
+    }
+
+    /**
+     * Revoke a single token, e.g. on logout.
+     */
+    public void revokeToken(String token) {
+        String jti = jwtUtil.extractClaim(token, Claims::getId);
+        if (jti == null || revocations.revokedJtis.containsKey(jti)) {
+            return;
+        }
+        String subject = jwtUtil.extractUsername(token);
+        Date expiresAt = jwtUtil.extractExpiration(token);
+        revokedTokenRepository.save(new RevokedToken(jti, subject, null, expiresAt));
+        remember(jti, null, null, expiresAt.getTime());
+    }
+
+    /**
+     * Revoke every token issued to a user up to now, e.g. after a password change.
+     */
+    public void revokeAllForUser(String subject) {
+        // Compared against the millisecond issue time, so only tokens issued up to this millisecond are cut off
+        long now = System.currentTimeMillis();
+        Date notBefore = new Date(now + 1);
+        Date expiresAt = new Date(now + jwtUtil.getExpirationMillis());
+        revokedTokenRepository.save(new RevokedToken(null, subject, notBefore, expiresAt));
+        remember(null, subject, notBefore.getTime(), expiresAt.getTime());
+        // A login that starts after this returns must not land in the revoked millisecond
+        while (System.currentTimeMillis() <= now) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${store.jwt.revocation.refresh-ms:30000}",
+               initialDelayString = "${store.jwt.revocation.refresh-ms:30000}")
+    public synchronized void refresh() {
+        Date started = new Date();
+        Date since = new Date(lastRefresh - refreshOverlapMs);
+        for (RevokedToken row : revokedTokenRepository.findByCreatedAtGreaterThanEqualAndExpiresAtAfter(since, started)) {
+            apply(revocations, row);
+        }
+        lastRefresh = started.getTime();
+    }
+
+    /**
+     * Drop expired rows and rebuild the filters, since Bloom filters cannot forget.
+     */
+    @Scheduled(cron = "${store.jwt.revocation.purge-cron:0 0 * * * *}")
+    public synchronized void rebuild() {
+        Date started = new Date();
+        long deleted = revokedTokenRepository.deleteByExpiresAtBefore(started);
+        List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(started);
+
+        RevocationList rebuilt = new RevocationList(Math.max(expectedEntries, rows.size() * 2));
+        rows.forEach(row -> apply(rebuilt, row));
+        revocations = rebuilt;
+        // Rows committed after the query above are picked up by the next refresh's overlap
+        lastRefresh = started.getTime();
+        logger.info("Loaded {} token revocations, purged {} expired", rows.size(), deleted);
+    }
+
+    private static void apply(RevocationList list, RevokedToken row) {
+        add(list, row.getJti(), row.getSubject(),
+                row.getNotBefore() != null ? row.getNotBefore().getTime() : null,
+                row.getExpiresAt().getTime());
+    }
+
+    // Synchronized with rebuild() so a revocation cannot land in a list that is about to be replaced
+    private synchronized void remember(String jti, String subject, Long notBefore, long expiresAt) {
+        add(revocations, jti, subject, notBefore, expiresAt);
+    }
+
+    private static void add(RevocationList list, String jti, String subject, Long notBefore, long expiresAt) {
+        if (jti != null) {
+            list.revokedJtis.put(jti, expiresAt);
+            list.jtiFilter.add(jti);
+        } else if (subject != null && notBefore != null) {
+            list.notBeforeBySubject.merge(subject, notBefore, Math::max);
+            list.subjectFilter.add(subject);
+        }
+    }
+}
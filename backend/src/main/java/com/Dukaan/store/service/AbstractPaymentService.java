@@ -0,0 +1,149 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.PaymentResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs a provider's blocking gateway calls on the provider's own bounded pool,
+ * so a slow provider can never occupy request threads or another provider's
+ * workers. Calls that cannot be queued fail fast, and calls that outlive the
+ * timeout complete exceptionally with a TimeoutException. A circuit breaker
+ * in front of the pool stops sending calls to a provider that keeps failing
+ * or answering slowly.
+ */
+public abstract class AbstractPaymentService implements PaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractPaymentService.class);
+
+    private final String provider;
+    private final PaymentGateway gateway;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    protected AbstractPaymentService(String provider, PaymentGateway gateway, CircuitBreaker circuitBreaker,
+                                     int maxConcurrency, int queueCapacity, long timeoutMs) {
+        this.provider = provider;
+        this.gateway = gateway;
+        this.circuitBreaker = circuitBreaker;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, provider + "-payment-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public String getProvider() {
+        return provider;
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> processPayment(double amount) {
+        return processPayment(amount, (result, ex) -> {});
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> processPayment(double amount, BiConsumer<PaymentResult, Throwable> onGatewayAnswer) {
+        if (amount <= 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Payment amount must be positive"));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(new CallNotPermittedException(provider));
+        }
+        long started = System.nanoTime();
+        CompletableFuture<PaymentResult> future;
+        try {
+            CompletableFuture<PaymentResult> call = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return gateway.charge(provider, amount);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+            // The timeout applies to a copy: the call itself keeps running and its answer is still reported
+            call.whenComplete(onGatewayAnswer);
+            future = call.copy().orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.releasePermission();
+            rejectedCalls.incrementAndGet();
+            logger.warn("{} payment pool saturated ({} active, {} queued)", provider,
+                    executor.getActiveCount(), executor.getQueue().size());
+            return CompletableFuture.failedFuture(e);
+        }
+        // A decline is a valid answer; only errors and timeouts count against the provider
+        return future.whenComplete((result, ex) -> {
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (ex != null) {
+                circuitBreaker.onFailure(durationMs);
+            } else {
+                circuitBreaker.onSuccess(durationMs);
+            }
+        });
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted() && executor.getQueue().remainingCapacity() > 0;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("provider", provider);
+        metrics.put("circuitBreaker", circuitBreaker.getMetrics());
+        Map<String, Object> bulkhead = new HashMap<>();
+        bulkhead.put("maxConcurrency", maxConcurrency);
+        bulkhead.put("queueCapacity", queueCapacity);
+        bulkhead.put("activeCalls", executor.getActiveCount());
+        bulkhead.put("queuedCalls", executor.getQueue().size());
+        bulkhead.put("rejectedCalls", rejectedCalls.get());
+        metrics.put("bulkhead", bulkhead);
+        return metrics;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public PaymentGateway getGateway() {
+        return gateway;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,327 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.BatchOrderResult;
+import com.Dukaan.store.dto.OrderDTO;
+import com.Dukaan.store.dto.OrderItemDTO;
+import com.Dukaan.store.event.OrderEvent;
+import com.Dukaan.store.event.ProductChangedEvent;
+import com.Dukaan.store.model.OrderSummary;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.model.User;
+import com.Dukaan.store.repository.ProductRepository;
+import com.Dukaan.store.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bulk order intake for integrations that submit many orders at once.
+ * Users and products for the whole batch are resolved with one query each,
+ * and each chunk of orders commits in a single transaction that locks the
+ * touched product rows, reserves stock with one conditional update per product
+ * and inserts orders and items as JDBC batches. Prices and names are taken
+ * from the locked rows, not from the lookup made before the transaction. Orders that cannot be placed
+ * are rejected individually without failing the rest of the batch.
+ */
+@Service
+public class BatchOrderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchOrderService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    @Autowired
+    private OrderSummaryService summaryService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${store.orders.batch.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${store.orders.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    public BatchOrderService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Place every order in the batch that can be placed.
+     * @return one result per submitted order, in submission order
+     */
+    public List<BatchOrderResult> createOrders(List<OrderDTO> orders) {
+        if (orders.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + orders.size() + " exceeds the limit of " + maxBatchSize);
+        }
+        BatchOrderResult[] results = new BatchOrderResult[orders.size()];
+
+        // One lookup for all users and one for all products in the batch
+        Set<String> emails = new HashSet<>();
+        Set<String> productNames = new HashSet<>();
+        for (OrderDTO dto : orders) {
+            if (dto != null && dto.getUser() != null && dto.getUser().getEmail() != null) {
+                emails.add(dto.getUser().getEmail());
+            }
+            if (dto != null && dto.getItems() != null) {
+                for (OrderItemDTO item : dto.getItems()) {
+                    if (item != null && item.getProduct() != null && item.getProduct().getName() != null) {
+                        productNames.add(item.getProduct().getName());
+                    }
+                }
+            }
+        }
+        Map<String, User> usersByEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            userRepository.findByEmailIn(emails).forEach(u -> usersByEmail.put(u.getEmail(), u));
+        }
+        Map<String, Product> productsByName = new HashMap<>();
+        if (!productNames.isEmpty()) {
+            // Names are not unique; like the single-order path, the first product with the name wins
+            productRepository.findByNameInOrderByIdAsc(productNames).forEach(p -> productsByName.putIfAbsent(p.getName(), p));
+        }
+
+        List<PendingOrder> valid = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            try {
+                valid.add(resolve(i, orders.get(i), usersByEmail, productsByName));
+            } catch (IllegalArgumentException e) {
+                results[i] = BatchOrderResult.rejected(i, e.getMessage());
+            }
+        }
+
+        for (int start = 0; start < valid.size(); start += chunkSize) {
+            List<PendingOrder> chunk = valid.subList(start, Math.min(start + chunkSize, valid.size()));
+            try {
+                List<BatchOrderResult> chunkResults = transactionTemplate.execute(status -> placeChunk(chunk));
+                chunkResults.forEach(r -> results[r.getIndex()] = r);
+            } catch (RuntimeException e) {
+                logger.error("Batch order chunk of {} orders failed", chunk.size(), e);
+                for (PendingOrder order : chunk) {
+                    results[order.index] = BatchOrderResult.rejected(order.index, "Order could not be saved, please retry");
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private PendingOrder resolve(int index, OrderDTO dto, Map<String, User> usersByEmail, Map<String, Product> productsByName) {
+        if (dto == null || dto.getItems() == null || dto.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Order has no items");
+        }
+        User user = null;
+        if (dto.getUser() != null && dto.getUser().getEmail() != null) {
+            user = usersByEmail.get(dto.getUser().getEmail());
+            if (user == null) {
+                throw new IllegalArgumentException("User not found: " + dto.getUser().getEmail());
+            }
+        }
+        // Merge repeated lines for the same product so stock is checked on the combined quantity
+        Map<Long, Line> lines = new LinkedHashMap<>();
+        for (OrderItemDTO item : dto.getItems()) {
+            Product product = item == null || item.getProduct() == null ? null : productsByName.get(item.getProduct().getName());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found for order item");
+            }
+            if (item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for product: " + product.getName());
+            }
+            Line line = lines.computeIfAbsent(product.getId(), Line::new);
+            line.quantity += item.getQuantity();
+        }
+        return new PendingOrder(index, user, new ArrayList<>(lines.values()));
+    }
+
+    private List<BatchOrderResult> placeChunk(List<PendingOrder> chunk) {
+        // Lock the chunk's products in id order so concurrent batches cannot deadlock
+        Set<Long> productIds = new TreeSet<>();
+        chunk.forEach(order -> order.lines.forEach(line -> productIds.add(line.productId)));
+        Map<Long, Integer> stock = new HashMap<>();
+        Map<Long, LockedProduct> products = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, name, price, stock FROM product WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                Map.of("ids", productIds), (ResultSet rs) -> {
+                    stock.put(rs.getLong("id"), rs.getInt("stock"));
+                    products.put(rs.getLong("id"), new LockedProduct(rs.getString("name"), rs.getDouble("price")));
+                });
+
+        // Allocate stock in submission order; an order is placed only if all its lines fit
+        List<BatchOrderResult> results = new ArrayList<>();
+        List<PendingOrder> accepted = new ArrayList<>();
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        for (PendingOrder order : chunk) {
+            String shortage = null;
+            for (Line line : order.lines) {
+                Integer available = stock.get(line.productId);
+                if (available == null) {
+                    shortage = "Product not found for order item";
+                    break;
+                }
+                if (available < line.quantity) {
+                    shortage = "Insufficient stock for product: " + products.get(line.productId).name();
+                    break;
+                }
+            }
+            if (shortage != null) {
+                results.add(BatchOrderResult.rejected(order.index, shortage));
+                continue;
+            }
+            for (Line line : order.lines) {
+                stock.merge(line.productId, -line.quantity, Integer::sum);
+                reserved.merge(line.productId, line.quantity, Integer::sum);
+            }
+            accepted.add(order);
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        List<Object[]> stockUpdates = new ArrayList<>();
+        reserved.forEach((productId, quantity) -> stockUpdates.add(new Object[]{quantity, productId, quantity}));
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE product SET stock = stock - ? WHERE id = ? AND stock >= ?", stockUpdates);
+        for (int count : updated) {
+            if (count == 0) {
+                throw new IllegalStateException("Stock changed while reserving batch");
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> orderIds = insertOrders(accepted, products, now);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            for (Line line : accepted.get(i).lines) {
+                LockedProduct product = products.get(line.productId);
+                itemRows.add(new Object[]{line.quantity, product.price(), product.name(), orderIds.get(i), line.productId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO order_item (quantity, unit_price, product_name, order_id, product_id) VALUES (?, ?, ?, ?, ?)", itemRows);
+
+        List<OrderSummary> summaries = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingOrder order = accepted.get(i);
+            summaries.add(new OrderSummary(orderIds.get(i), order.user != null ? order.user.getId() : null,
+                    order.user != null ? order.user.getEmail() : null, order.units(), order.total(products), "PENDING", now));
+        }
+        summaryService.recordAll(summaries);
+
+        // Listeners run after commit, same as for orders placed one at a time
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingOrder order = accepted.get(i);
+            List<OrderEvent.Line> lines = new ArrayList<>();
+            for (Line line : order.lines) {
+                LockedProduct product = products.get(line.productId);
+                lines.add(new OrderEvent.Line(line.productId, product.name(), line.quantity, product.price()));
+            }
+            eventPublisher.publishEvent(new OrderEvent(OrderEvent.Type.PLACED, orderIds.get(i), now, "PENDING", lines));
+            results.add(BatchOrderResult.created(order.index, orderIds.get(i), order.total(products)));
+        }
+        // Stock was changed with plain SQL, so the JPA listener did not see it
+        reserved.keySet().forEach(productId ->
+                eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.Type.UPDATED)));
+        return results;
+    }
+
+    private List<Long> insertOrders(List<PendingOrder> orders, Map<Long, LockedProduct> products, LocalDateTime createdAt) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO orders (total_price, status, created_at, user_id) VALUES (?, ?, ?, ?)", new String[]{"id"})) {
+                Timestamp timestamp = Timestamp.valueOf(createdAt);
+                for (PendingOrder order : orders) {
+                    ps.setDouble(1, order.total(products));
+                    ps.setString(2, "PENDING");
+                    ps.setTimestamp(3, timestamp);
+                    if (order.user != null) {
+                        ps.setLong(4, order.user.getId());
+                    } else {
+                        ps.setNull(4, Types.BIGINT);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> ids = new ArrayList<>(orders.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != orders.size()) {
+                    throw new IllegalStateException("Expected " + orders.size() + " generated order ids, got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static class Line {
+        final Long productId;
+        int quantity;
+
+        Line(Long productId) {
+            this.productId = productId;
+        }
+    }
+
+    // Name and price as read under the row lock
+    private record LockedProduct(String name, double price) {}
+
+    private static class PendingOrder {
+        final int index;
+        final User user;
+        final List<Line> lines;
+
+        PendingOrder(int index, User user, List<Line> lines) {
+            this.index = index;
+            this.user = user;
+            this.lines = lines;
+        }
+
+        int units() {
+            int units = 0;
+            for (Line line : lines) {
+                units += line.quantity;
+            }
+            return units;
+        }
+
+        double total(Map<Long, LockedProduct> products) {
+            double total = 0;
+            for (Line line : lines) {
+                total += products.get(line.productId).price() * line.quantity;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.Dukaan.store.service;
+
+/**
+ * Thrown when a provider's circuit breaker is open and the call was not attempted.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String provider) {
+        super("Circuit breaker for " + provider + " is open");
+    }
+}
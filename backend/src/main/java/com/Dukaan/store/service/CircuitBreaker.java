@@ -0,0 +1,192 @@
+package com.Dukaan.store.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Count-based circuit breaker. The outcomes of the last {@code windowSize} calls are
+ * kept in a ring buffer; once at least {@code minimumCalls} are recorded, the breaker
+ * opens when either the failure rate or the slow-call rate reaches its threshold.
+ * After {@code openDurationMs} it lets {@code halfOpenCalls} trial calls through and
+ * closes again only if those trials stay under both thresholds.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDurationMs;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+
+    // Ring buffer of outcomes: bit 0 = failed, bit 1 = slow
+    private final byte[] outcomes;
+    private int head;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenCompleted;
+
+    private long notPermittedCalls;
+    private long timesOpened;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          double slowCallRateThreshold, long slowCallDurationMs, long openDurationMs,
+                          int halfOpenCalls) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("windowSize, minimumCalls and halfOpenCalls must be positive");
+        }
+        this.name = name;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallDurationMs = slowCallDurationMs;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = halfOpenCalls;
+        this.outcomes = new byte[windowSize];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Ask to make a call. Every granted permission must be followed by exactly one
+     * {@link #onSuccess}, {@link #onFailure} or {@link #releasePermission}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        long now = System.currentTimeMillis();
+        if (state == State.OPEN && now - openedAt >= openDurationMs) {
+            transitionTo(State.HALF_OPEN, now);
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (halfOpenPermitted < halfOpenCalls) {
+                    halfOpenPermitted++;
+                    return true;
+                }
+                notPermittedCalls++;
+                return false;
+            default:
+                notPermittedCalls++;
+                return false;
+        }
+    }
+
+    /**
+     * Give back a permission for a call that was never made (e.g. the bulkhead rejected it).
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > halfOpenCompleted) {
+            halfOpenPermitted--;
+        }
+    }
+
+    public void onSuccess(long durationMs) {
+        record(false, durationMs);
+    }
+
+    public void onFailure(long durationMs) {
+        record(true, durationMs);
+    }
+
+    /**
+     * Whether a call would currently be let through, without consuming a permission.
+     */
+    public synchronized boolean isCallPermitted() {
+        if (state == State.OPEN) {
+            return System.currentTimeMillis() - openedAt >= openDurationMs;
+        }
+        return state == State.CLOSED || halfOpenPermitted < halfOpenCalls;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized void reset() {
+        transitionTo(State.CLOSED, System.currentTimeMillis());
+    }
+
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("state", state.name());
+        metrics.put("bufferedCalls", recorded);
+        metrics.put("failedCalls", failures);
+        metrics.put("slowCalls", slowCalls);
+        metrics.put("failureRate", recorded == 0 ? 0.0 : failures * 100.0 / recorded);
+        metrics.put("slowCallRate", recorded == 0 ? 0.0 : slowCalls * 100.0 / recorded);
+        metrics.put("notPermittedCalls", notPermittedCalls);
+        metrics.put("timesOpened", timesOpened);
+        return metrics;
+    }
+
+    private synchronized void record(boolean failed, long durationMs) {
+        // Calls that were in flight when the breaker opened say nothing about the trial period
+        if (state == State.OPEN) {
+            return;
+        }
+        boolean slow = durationMs >= slowCallDurationMs;
+        if (recorded == windowSize) {
+            byte evicted = outcomes[head];
+            failures -= evicted & 1;
+            slowCalls -= (evicted >> 1) & 1;
+        } else {
+            recorded++;
+        }
+        outcomes[head] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        head = (head + 1) % windowSize;
+        if (failed) failures++;
+        if (slow) slowCalls++;
+
+        long now = System.currentTimeMillis();
+        if (state == State.HALF_OPEN) {
+            halfOpenCompleted++;
+            if (halfOpenCompleted >= halfOpenCalls) {
+                transitionTo(exceedsThresholds() ? State.OPEN : State.CLOSED, now);
+            }
+        } else if (recorded >= minimumCalls && exceedsThresholds()) {
+            transitionTo(State.OPEN, now);
+        }
+    }
+
+    private boolean exceedsThresholds() {
+        return failures * 100.0 / recorded >= failureRateThreshold
+                || slowCalls * 100.0 / recorded >= slowCallRateThreshold;
+    }
+
+    private void transitionTo(State next, long now) {
+        if (state != next) {
+            logger.warn("Circuit breaker '{}' {} -> {} (failure rate {}%, slow-call rate {}% over {} calls)", name, state, next,
+                    recorded == 0 ? 0 : failures * 100 / recorded, recorded == 0 ? 0 : slowCalls * 100 / recorded, recorded);
+        }
+        if (next == State.OPEN) {
+            openedAt = now;
+            timesOpened++;
+        }
+        state = next;
+        // Each state judges only its own calls
+        head = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        halfOpenPermitted = 0;
+        halfOpenCompleted = 0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.Dukaan.store.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds payment circuit breakers from the shared store.payment.breaker.* settings.
+ */
+@Component
+public class CircuitBreakerFactory {
+
+    @Value("${store.payment.breaker.sliding-window-size:20}")
+    private int windowSize;
+
+    @Value("${store.payment.breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${store.payment.breaker.failure-rate-threshold:50}")
+    private double failureRateThreshold;
+
+    @Value("${store.payment.breaker.slow-call-rate-threshold:80}")
+    private double slowCallRateThreshold;
+
+    @Value("${store.payment.breaker.slow-call-duration-ms:2000}")
+    private long slowCallDurationMs;
+
+    @Value("${store.payment.breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+
+    @Value("${store.payment.breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    public CircuitBreaker create(String name) {
+        return new CircuitBreaker(name, windowSize, minimumCalls, failureRateThreshold,
+                slowCallRateThreshold, slowCallDurationMs, openDurationMs, halfOpenCalls);
+    }
+}
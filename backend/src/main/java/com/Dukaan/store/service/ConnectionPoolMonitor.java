@@ -0,0 +1,375 @@
+package com.Dukaan.store.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation for the Hikari connection pools. Hikari reports acquire time, usage
+ * time and checkout timeouts through this tracker factory; the pool wrappers report
+ * each checkout and return, which gives the exact peak number of connections in use
+ * between samples and, with leak detection on, the application method that took each
+ * connection. Pool sizes are recommended (and optionally applied) from the 99th
+ * percentile of sampled demand, that is connections in use plus threads waiting.
+ */
+@Service
+public class ConnectionPoolMonitor implements MetricsTrackerFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+
+    private static final String APP_PACKAGE = "com.Dukaan.store.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final int RECENT_LEAKS = 50;
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+    private final List<HikariDataSource> dataSources = new CopyOnWriteArrayList<>();
+    private final Map<Long, Checkout> openCheckouts = new ConcurrentHashMap<>();
+    private final AtomicLong checkoutIds = new AtomicLong();
+    private final Map<String, LongAdder> leaksByOwner = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> recentLeaks = new ArrayDeque<>();
+
+    private final long leakDetectionMs;
+    private final int sampleWindow;
+    private final double headroom;
+    private final int minPoolSize;
+    private final int maxPoolSize;
+    private final boolean autoApply;
+
+    public ConnectionPoolMonitor(
+            @Value("${store.datasource.leak-detection-ms:30000}") long leakDetectionMs,
+            @Value("${store.datasource.pool-sizing.window:300}") int sampleWindow,
+            @Value("${store.datasource.pool-sizing.headroom:0.25}") double headroom,
+            @Value("${store.datasource.pool-sizing.min-size:2}") int minPoolSize,
+            @Value("${store.datasource.pool-sizing.max-size:50}") int maxPoolSize,
+            @Value("${store.datasource.pool-sizing.auto-apply:false}") boolean autoApply) {
+        this.leakDetectionMs = leakDetectionMs;
+        this.sampleWindow = Math.max(1, sampleWindow);
+        this.headroom = headroom;
+        this.minPoolSize = minPoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.autoApply = autoApply;
+    }
+
+    /**
+     * Attach the metrics tracker to a pool; must be called before its first connection.
+     */
+    public void register(HikariDataSource dataSource) {
+        dataSource.setMetricsTrackerFactory(this);
+        dataSources.add(dataSource);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Pool pool = pool(poolName);
+        pool.stats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                pool.created.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                pool.acquireTime.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                pool.usageTime.record(elapsedBorrowedMillis * 1_000_000);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                pool.timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Called by the pool wrapper when a connection is handed out.
+     * @return the checkout to pass to {@link #returned}
+     */
+    public Checkout checkedOut(String poolName) {
+        Pool pool = pool(poolName);
+        int inUse = pool.inUse.incrementAndGet();
+        pool.peakInUse.accumulateAndGet(inUse, Math::max);
+        if (leakDetectionMs <= 0) {
+            return new Checkout(0, pool, null);
+        }
+        Checkout checkout = new Checkout(checkoutIds.incrementAndGet(), pool, owner());
+        openCheckouts.put(checkout.id, checkout);
+        return checkout;
+    }
+
+    public void returned(Checkout checkout) {
+        checkout.pool.inUse.decrementAndGet();
+        if (checkout.id != 0 && openCheckouts.remove(checkout.id) != null && checkout.reported) {
+            logger.info("Connection from pool '{}' reported as leaked by {} was returned after {} ms",
+                    checkout.pool.name, checkout.owner, System.currentTimeMillis() - checkout.startedAt);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${store.datasource.leak-check-ms:5000}", initialDelayString = "${store.datasource.leak-check-ms:5000}")
+    public void detectLeaks() {
+        if (leakDetectionMs <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Checkout checkout : openCheckouts.values()) {
+            long heldMs = now - checkout.startedAt;
+            if (checkout.reported || heldMs < leakDetectionMs) {
+                continue;
+            }
+            checkout.reported = true;
+            leaksByOwner.computeIfAbsent(checkout.owner, o -> new LongAdder()).increment();
+            logger.warn("Possible connection leak: pool '{}' connection held for {} ms by {} on thread {}",
+                    checkout.pool.name, heldMs, checkout.owner, checkout.thread);
+            Map<String, Object> leak = checkout.toMap(now);
+            leak.put("detectedAt", LocalDateTime.now());
+            synchronized (recentLeaks) {
+                if (recentLeaks.size() >= RECENT_LEAKS) {
+                    recentLeaks.removeFirst();
+                }
+                recentLeaks.addLast(leak);
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${store.datasource.pool-sizing.sample-ms:1000}")
+    public void sampleDemand() {
+        for (Pool pool : pools.values()) {
+            if (pool.stats == null) {
+                continue;
+            }
+            // Peak since the last sample, so bursts between samples are not missed
+            int peak = pool.peakInUse.getAndSet(pool.inUse.get());
+            pool.addSample(peak + pool.stats.getPendingThreads());
+        }
+        if (autoApply) {
+            for (HikariDataSource dataSource : dataSources) {
+                Pool pool = pools.get(dataSource.getPoolName());
+                if (pool != null && pool.sampleCount() >= sampleWindow) {
+                    resize(dataSource, recommendedSize(pool));
+                }
+            }
+        }
+    }
+
+    public List<Map<String, Object>> getPoolMetrics() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (HikariDataSource dataSource : dataSources) {
+            Pool pool = pools.get(dataSource.getPoolName());
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("pool", dataSource.getPoolName());
+            metrics.put("maximumPoolSize", dataSource.getMaximumPoolSize());
+            metrics.put("minimumIdle", dataSource.getMinimumIdle());
+            if (pool == null || pool.stats == null) {
+                metrics.put("started", false);
+                result.add(metrics);
+                continue;
+            }
+            metrics.put("started", true);
+            metrics.put("active", pool.stats.getActiveConnections());
+            metrics.put("idle", pool.stats.getIdleConnections());
+            metrics.put("pending", pool.stats.getPendingThreads());
+            metrics.put("total", pool.stats.getTotalConnections());
+            metrics.put("checkoutTimeouts", pool.timeouts.sum());
+            metrics.put("connectionsCreated", pool.created.sum());
+            metrics.put("acquireTime", pool.acquireTime.toMap());
+            metrics.put("usageTime", pool.usageTime.toMap());
+
+            int[] samples = pool.samples();
+            Map<String, Object> demand = new LinkedHashMap<>();
+            demand.put("samples", samples.length);
+            demand.put("p50", percentile(samples, 50));
+            demand.put("p99", percentile(samples, 99));
+            demand.put("max", samples.length == 0 ? 0 : samples[samples.length - 1]);
+            metrics.put("demand", demand);
+            metrics.put("recommendedMaximumPoolSize", recommendedSize(pool));
+            result.add(metrics);
+        }
+        return result;
+    }
+
+    /**
+     * Leak counts per owning method, connections currently held past the threshold
+     * and the most recent leak reports, newest first.
+     */
+    public Map<String, Object> getLeaks() {
+        long now = System.currentTimeMillis();
+        Map<String, Long> byOwner = new LinkedHashMap<>();
+        leaksByOwner.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                .forEach(e -> byOwner.put(e.getKey(), e.getValue().sum()));
+        List<Map<String, Object>> held = openCheckouts.values().stream()
+                .filter(c -> now - c.startedAt >= leakDetectionMs)
+                .sorted(Comparator.comparingLong(c -> c.startedAt))
+                .map(c -> c.toMap(now))
+                .toList();
+        List<Map<String, Object>> recent;
+        synchronized (recentLeaks) {
+            recent = new ArrayList<>(recentLeaks);
+        }
+        Collections.reverse(recent);
+
+        Map<String, Object> leaks = new LinkedHashMap<>();
+        leaks.put("leakDetectionMs", leakDetectionMs);
+        leaks.put("byOwner", byOwner);
+        leaks.put("heldPastThreshold", held);
+        leaks.put("recent", recent);
+        return leaks;
+    }
+
+    public void reset() {
+        for (Pool pool : pools.values()) {
+            pool.acquireTime.reset();
+            pool.usageTime.reset();
+            pool.timeouts.reset();
+            pool.created.reset();
+        }
+        leaksByOwner.clear();
+        synchronized (recentLeaks) {
+            recentLeaks.clear();
+        }
+    }
+
+    int recommendedSize(Pool pool) {
+        int p99 = percentile(pool.samples(), 99);
+        int size = (int) Math.ceil(p99 * (1 + headroom));
+        return Math.max(minPoolSize, Math.min(maxPoolSize, size));
+    }
+
+    Pool pool(String name) {
+        return pools.computeIfAbsent(name, n -> new Pool(n, sampleWindow));
+    }
+
+    private void resize(HikariDataSource dataSource, int size) {
+        if (size == dataSource.getMaximumPoolSize()) {
+            return;
+        }
+        logger.info("Resizing pool '{}' from {} to {} connections", dataSource.getPoolName(), dataSource.getMaximumPoolSize(), size);
+        if (size < dataSource.getMinimumIdle()) {
+            // Idle connections above the new size are only retired when minimumIdle is below the maximum
+            dataSource.setMinimumIdle(size);
+        }
+        dataSource.setMaximumPoolSize(size);
+    }
+
+    private static int percentile(int[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * First application frame below the pool, e.g. {@code ProductService#updateStock}.
+     * Infrastructure in the config package and Spring proxies are skipped.
+     */
+    static String owner() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> isApplicationFrame(frame.getClassName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "#" + frame.getMethodName())
+                .orElse("thread:" + Thread.currentThread().getName().replaceAll("-?\\d+$", "")));
+    }
+
+    private static boolean isApplicationFrame(String className) {
+        return className.startsWith(APP_PACKAGE)
+                && !className.startsWith(APP_PACKAGE + "config.")
+                && !className.equals(ConnectionPoolMonitor.class.getName())
+                && !className.startsWith(ConnectionPoolMonitor.class.getName() + "$")
+                && !className.contains("$$");
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    static class Pool {
+        final String name;
+        final LatencyHistogram acquireTime = new LatencyHistogram();
+        final LatencyHistogram usageTime = new LatencyHistogram();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder created = new LongAdder();
+        final AtomicInteger inUse = new AtomicInteger();
+        final AtomicInteger peakInUse = new AtomicInteger();
+        volatile PoolStats stats;
+
+        // Ring buffer of demand samples
+        private final int[] samples;
+        private int head;
+        private int recorded;
+
+        Pool(String name, int window) {
+            this.name = name;
+            this.samples = new int[window];
+        }
+
+        synchronized void addSample(int demand) {
+            samples[head] = demand;
+            head = (head + 1) % samples.length;
+            recorded = Math.min(recorded + 1, samples.length);
+        }
+
+        synchronized int sampleCount() {
+            return recorded;
+        }
+
+        /**
+         * Samples in the window, sorted ascending.
+         */
+        synchronized int[] samples() {
+            int[] copy = Arrays.copyOf(samples, recorded);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    public static class Checkout {
+        final long id;
+        final Pool pool;
+        final String owner;
+        final String thread = Thread.currentThread().getName();
+        final long startedAt = System.currentTimeMillis();
+        volatile boolean reported;
+
+        Checkout(long id, Pool pool, String owner) {
+            this.id = id;
+            this.pool = pool;
+            this.owner = owner;
+        }
+
+        Map<String, Object> toMap(long now) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("pool", pool.name);
+            map.put("owner", owner);
+            map.put("thread", thread);
+            map.put("heldMs", now - startedAt);
+            return map;
+        }
+    }
+}
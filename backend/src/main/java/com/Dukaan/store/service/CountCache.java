@@ -0,0 +1,111 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of COUNT(*) results for paginated endpoints, so asking for totals
+ * does not count the whole table on every page. Counts are grouped by region (one per
+ * table); a committed write to a region drops its counts, and the TTL bounds how stale
+ * a count can get from writes that bypass invalidation.
+ */
+@Component
+public class CountCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String USERS = "users";
+    public static final String ORDERS = "orders";
+
+    private record Entry(long count, long expiresAt) {}
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public CountCache(@Value("${store.pagination.count-cache-ttl-ms:5000}") long ttlMillis,
+                      @Value("${store.pagination.count-cache-size:1000}") int maxEntries) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The count for {@code key} in {@code region}, from the cache or from {@code counter}.
+     */
+    public long count(String region, String key, LongSupplier counter) {
+        String cacheKey = region + "|" + key;
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null && now - entry.expiresAt < 0) {
+                return entry.count;
+            }
+        }
+        long generation = generation(region).get();
+        long count = counter.getAsLong();
+        synchronized (this) {
+            // A write committed while counting; the result may already be stale
+            if (generation == generation(region).get()) {
+                entries.put(cacheKey, new Entry(count, now + ttlNanos));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A page with the slice's rows and a cached total.
+     */
+    public <T> Page<T> page(Slice<T> slice, String region, String key, LongSupplier counter) {
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), count(region, key, counter));
+    }
+
+    /**
+     * Drop the region's counts once the current transaction commits, or now if there is none.
+     */
+    public void invalidate(String region) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(region);
+                }
+            });
+        } else {
+            clear(region);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Product counts are unfiltered, so price and stock updates cannot change them
+        if (event.getType() != ProductChangedEvent.Type.UPDATED) {
+            clear(PRODUCTS);
+        }
+    }
+
+    private synchronized void clear(String region) {
+        generation(region).incrementAndGet();
+        entries.keySet().removeIf(key -> key.startsWith(region + "|"));
+    }
+
+    private AtomicLong generation(String region) {
+        return generations.computeIfAbsent(region, r -> new AtomicLong());
+    }
+}
@@ -0,0 +1,56 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.PaymentResult;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for a real gateway: sleeps for a configurable latency
+ * (with jitter), declines a configurable fraction of charges and fails
+ * another fraction outright. All three knobs can be changed at runtime
+ * to inject faults.
+ */
+public class FakePaymentGateway implements PaymentGateway {
+
+    private volatile long latencyMs;
+    private volatile double declineRate;
+    private volatile double failureRate;
+
+    public FakePaymentGateway(long latencyMs, double declineRate) {
+        this(latencyMs, declineRate, 0.0);
+    }
+
+    public FakePaymentGateway(long latencyMs, double declineRate, double failureRate) {
+        this.latencyMs = latencyMs;
+        this.declineRate = declineRate;
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public PaymentResult charge(String provider, double amount) throws Exception {
+        long started = System.currentTimeMillis();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs / 2 + random.nextLong(latencyMs + 1));
+        }
+        if (random.nextDouble() < failureRate) {
+            throw new IOException(provider + " gateway error (injected)");
+        }
+        boolean approved = random.nextDouble() >= declineRate;
+        return new PaymentResult(provider, approved, approved ? provider + "_" + UUID.randomUUID() : null,
+                amount, approved ? "Approved" : "Declined", System.currentTimeMillis() - started);
+    }
+
+    public void setLatencyMs(long latencyMs) { this.latencyMs = latencyMs; }
+
+    public void setDeclineRate(double declineRate) { this.declineRate = declineRate; }
+
+    public void setFailureRate(double failureRate) { this.failureRate = failureRate; }
+
+    public long getLatencyMs() { return latencyMs; }
+
+    public double getDeclineRate() { return declineRate; }
+
+    public double getFailureRate() { return failureRate; }
+}
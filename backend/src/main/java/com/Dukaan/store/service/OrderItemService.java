@@ -6,32 +6,81 @@ import com.Dukaan.store.model.OrderItem;
 import com.Dukaan.store.model.Product;
 import com.Dukaan.store.repository.OrderItemRepository;
 import com.Dukaan.store.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
 public class OrderItemService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderItemService.class);
+
     @Autowired
     private OrderItemRepository orderItemRepository;
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private OrderSummaryService summaryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
+    @Transactional(readOnly = true)
     public List<OrderItem> getAllOrderItems() {
         return orderItemRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public OrderItem getOrderItemById(Long id) {
         return orderItemRepository.findById(id).orElse(null);
     }
 
+    @Transactional
     public OrderItem createOrderItem(OrderItem orderItem) {
-        return orderItemRepository.save(orderItem);
+        if (orderItem.getUnitPrice() == null) {
+            orderItem.snapshotProduct();
+        }
+        OrderItem saved = orderItemRepository.save(orderItem);
+        if (saved.getOrder() != null) {
+            summaryService.refreshItemCount(saved.getOrder().getId());
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteOrderItem(Long id) {
-        orderItemRepository.deleteById(id);
+        OrderItem item = orderItemRepository.findById(id).orElse(null);
+        if (item == null) {
+            return;
+        }
+        orderItemRepository.delete(item);
+        if (item.getOrder() != null) {
+            summaryService.refreshItemCount(item.getOrder().getId());
+        }
+    }
+
+    /**
+     * Order lines written before prices were snapshotted get the product's current
+     * price and name; the price paid for them was never stored. Runs before the
+     * startup listeners that read order history.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillSnapshots() {
+        int updated = jdbcTemplate.update("UPDATE order_item SET " +
+                "unit_price = (SELECT p.price FROM product p WHERE p.id = order_item.product_id), " +
+                "product_name = (SELECT p.name FROM product p WHERE p.id = order_item.product_id) " +
+                "WHERE unit_price IS NULL AND product_id IS NOT NULL");
+        if (updated > 0) {
+            logger.info("Backfilled price and name snapshots on {} order items", updated);
+        }
     }
 
     // DTO <-> Entity mapping
@@ -49,11 +98,10 @@ public class OrderItemService {
 
     public OrderItemDTO toDTO(OrderItem item) {
         OrderItemDTO dto = new OrderItemDTO();
+        dto.setProductId(item.getProductId());
         dto.setQuantity(item.getQuantity());
-        dto.setPrice(item.getProduct() != null ? item.getProduct().getPrice() : 0);
-        if (item.getProduct() != null) {
-            dto.setProduct(toDTO(item.getProduct()));
-        }
+        dto.setPrice(item.getUnitPrice() != null ? item.getUnitPrice() : 0);
+        dto.setProductName(item.getProductName());
         return dto;
     }
 
@@ -0,0 +1,156 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.PaymentResult;
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.Payment;
+import com.Dukaan.store.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pays for an order at most once at a time. The order is first claimed by moving it from
+ * PENDING to PAYING with a conditional update, so a concurrent second request fails the
+ * claim instead of charging again. Every attempt is recorded as a {@link Payment} and is
+ * settled when the gateway answers, which may be after the caller has been told the
+ * provider timed out: an approval then still moves the order to PROCESSING, and an
+ * approval for an order that is no longer PAYING is flagged REFUND_REQUIRED.
+ */
+@Service
+public class OrderPaymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPaymentService.class);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private PaymentRouter paymentRouter;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private final TransactionTemplate transaction;
+
+    public OrderPaymentService(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public record Outcome(Payment payment, PaymentResult result) {}
+
+    /**
+     * Charge the order's total. Completes with the settled payment, or exceptionally with
+     * IllegalStateException if the order is not PENDING (or already being paid), and with
+     * the router's exception if the charge could not be sent or timed out.
+     */
+    public CompletableFuture<Outcome> pay(Order order, String provider) {
+        Long orderId = order.getId();
+        Payment payment = transaction.execute(status -> {
+            if (!orderService.transitionStatus(orderId, "PENDING", OrderService.PAYING)) {
+                return null;
+            }
+            return paymentRepository.save(new Payment(orderId, provider, order.getTotalPrice()));
+        });
+        if (payment == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Order " + orderId + " is not PENDING or is already being paid"));
+        }
+
+        // Completed from the gateway thread once the answer is recorded, however late it is
+        CompletableFuture<Outcome> settled = new CompletableFuture<>();
+        CompletableFuture<PaymentResult> call = paymentRouter.pay(provider, order.getTotalPrice(), (result, ex) -> {
+            try {
+                settled.complete(settle(payment.getId(), result, ex));
+            } catch (RuntimeException e) {
+                logger.error("Could not record the outcome of payment {} for order {}", payment.getId(), orderId, e);
+                settled.completeExceptionally(e);
+            }
+        });
+        return call.handle((result, ex) -> ex == null ? null : unwrap(ex)).thenCompose(cause -> {
+            if (cause == null || !(cause instanceof TimeoutException || notSent(cause))) {
+                return settled;
+            }
+            if (cause instanceof TimeoutException) {
+                // The order stays PAYING until the gateway answers, so it cannot be charged twice
+                transaction.executeWithoutResult(status -> paymentRepository.markTimedOut(payment.getId()));
+                logger.warn("Payment {} for order {} timed out; it will be settled if the gateway answers", payment.getId(), orderId);
+            } else {
+                release(payment.getId(), cause);
+            }
+            return CompletableFuture.failedFuture(cause);
+        });
+    }
+
+    /**
+     * Payments that need checking against the provider: timed out, or charged for an order
+     * that was changed while the charge was in flight.
+     */
+    public List<Payment> getUnsettledPayments() {
+        return paymentRepository.findByStatusInOrderByCreatedAtAsc(List.of(Payment.TIMED_OUT, Payment.REFUND_REQUIRED));
+    }
+
+    public List<Payment> getPayments(Long orderId) {
+        return paymentRepository.findByOrderIdOrderByCreatedAtAsc(orderId);
+    }
+
+    private Outcome settle(Long paymentId, PaymentResult result, Throwable ex) {
+        return transaction.execute(status -> {
+            Payment payment = paymentRepository.findById(paymentId).orElseThrow();
+            payment.setSettledAt(LocalDateTime.now());
+            if (ex != null) {
+                Throwable cause = unwrap(ex);
+                payment.setStatus(Payment.FAILED);
+                payment.setMessage(cause.getMessage());
+                orderService.transitionStatus(payment.getOrderId(), OrderService.PAYING, "PENDING");
+            } else if (!result.isSuccess()) {
+                payment.setStatus(Payment.DECLINED);
+                payment.setProvider(result.getProvider());
+                payment.setMessage(result.getMessage());
+                orderService.transitionStatus(payment.getOrderId(), OrderService.PAYING, "PENDING");
+            } else {
+                payment.setProvider(result.getProvider());
+                payment.setTransactionId(result.getTransactionId());
+                payment.setMessage(result.getMessage());
+                if (orderService.transitionStatus(payment.getOrderId(), OrderService.PAYING, "PROCESSING")) {
+                    payment.setStatus(Payment.APPROVED);
+                } else {
+                    payment.setStatus(Payment.REFUND_REQUIRED);
+                    logger.error("Payment {} ({}) approved for order {}, which is no longer being paid; flagged for refund",
+                            paymentId, result.getTransactionId(), payment.getOrderId());
+                }
+            }
+            return new Outcome(paymentRepository.save(payment), result);
+        });
+    }
+
+    // The gateway was never called, so the claim can be given back
+    private void release(Long paymentId, Throwable cause) {
+        transaction.executeWithoutResult(status -> {
+            Payment payment = paymentRepository.findById(paymentId).orElseThrow();
+            payment.setStatus(Payment.FAILED);
+            payment.setMessage(cause.getMessage());
+            payment.setSettledAt(LocalDateTime.now());
+            paymentRepository.save(payment);
+            orderService.transitionStatus(payment.getOrderId(), OrderService.PAYING, "PENDING");
+        });
+    }
+
+    private static boolean notSent(Throwable cause) {
+        return cause instanceof CallNotPermittedException || cause instanceof RejectedExecutionException
+                || cause instanceof IllegalArgumentException;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
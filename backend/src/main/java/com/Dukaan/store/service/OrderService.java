@@ -1,6 +1,7 @@
 package com.Dukaan.store.service;
 
 import com.Dukaan.store.dto.OrderDTO;
+import com.Dukaan.store.event.OrderEvent;
 import com.Dukaan.store.dto.OrderItemDTO;
 import com.Dukaan.store.dto.UserDTO;
 import com.Dukaan.store.dto.ProductDTO;
@@ -12,31 +13,40 @@ import com.Dukaan.store.repository.OrderRepository;
 import com.Dukaan.store.repository.UserRepository;
 import com.Dukaan.store.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import java.time.LocalDate;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
+    // Claimed by a payment in flight; set and cleared only through transitionStatus
+    public static final String PAYING = "PAYING";
+
     @Autowired
     private OrderRepository orderRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private OrderSummaryService summaryService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Order getOrderById(Long id) {
         return orderRepository.findById(id).orElse(null);
     }
 
+    @Transactional
     public Order createOrder(Order order) {
         double total = 0;
         for (OrderItem item : order.getItems()) {
@@ -50,58 +60,62 @@ public class OrderService {
             // Reduce stock
             product.setStock(product.getStock() - item.getQuantity());
             productRepository.save(product);
-            // Calculate price
-            total += product.getPrice() * item.getQuantity();
+            // Charge and record the price at checkout time
+            item.snapshotProduct();
+            total += item.getUnitPrice() * item.getQuantity();
         }
         order.setTotalPrice(total);
+        order.setStatus("PENDING");
         // Save order and items atomically
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        summaryService.record(saved);
+        publish(OrderEvent.Type.PLACED, saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteOrder(Long id) {
+        summaryService.delete(id);
         orderRepository.deleteById(id);
     }
 
+    @Transactional
     public Order updateOrderStatus(Long orderId, String status) {
+        if ("CANCELLED".equals(status)) {
+            return cancelOrder(orderId);
+        }
         Order order = getOrderById(orderId);
         if (order == null) {
             throw new RuntimeException("Order not found with id: " + orderId);
         }
+        if ("CANCELLED".equals(order.getStatus())) {
+            throw new IllegalStateException("Cancelled orders cannot change status");
+        }
+        if (PAYING.equals(order.getStatus())) {
+            throw new IllegalStateException("Order payment is in progress");
+        }
         
-        // For this implementation, we'll add a status field to the Order model
-        // For now, we'll simulate this by updating the order
-        // In a real implementation, you would add a status field to the Order entity
-        
-        return orderRepository.save(order);
-    }
-
-    public Page<Order> getOrdersFiltered(String status, LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        // For this implementation, we'll use basic filtering
-        // In a real implementation, you would create custom repository methods with @Query annotations
-        Page<Order> orders = orderRepository.findAll(pageable);
-        
-        // Apply filters (simplified implementation)
-        // In production, this should be done at the database level for better performance
-        return orders;
-    }
-
-    public List<Order> getOrdersByUserId(Long userId) {
-        // For this implementation, we'll filter by user ID
-        // In a real implementation, you would create a custom repository method
-        return orderRepository.findAll().stream()
-                .filter(order -> order.getUser() != null && order.getUser().getId().equals(userId))
-                .collect(Collectors.toList());
+        order.setStatus(status);
+        Order saved = orderRepository.save(order);
+        summaryService.updateStatus(orderId, status);
+        publish(OrderEvent.Type.STATUS_CHANGED, saved);
+        return saved;
     }
 
+    @Transactional
     public Order cancelOrder(Long orderId) {
         Order order = getOrderById(orderId);
         if (order == null) {
             throw new RuntimeException("Order not found with id: " + orderId);
         }
         
-        // Check if order can be cancelled (business logic)
-        // For this implementation, we'll assume all orders can be cancelled
-        // In a real implementation, you would check the order status
+        // Cancelling twice would restore stock twice
+        if ("CANCELLED".equals(order.getStatus())) {
+            throw new IllegalStateException("Order is already cancelled");
+        }
+        if (PAYING.equals(order.getStatus())) {
+            throw new IllegalStateException("Order payment is in progress");
+        }
         
         // Restore stock for cancelled orders
         for (OrderItem item : order.getItems()) {
@@ -112,9 +126,34 @@ public class OrderService {
             }
         }
         
-        // Set status to cancelled (in a real implementation)
-        // For now, we'll just return the order
-        return orderRepository.save(order);
+        order.setStatus("CANCELLED");
+        Order saved = orderRepository.save(order);
+        summaryService.updateStatus(orderId, "CANCELLED");
+        publish(OrderEvent.Type.CANCELLED, saved);
+        return saved;
+    }
+
+    /**
+     * Move an order from one status to another only if it is still in the first one, so
+     * two concurrent requests cannot both act on the same state (e.g. both charge a
+     * PENDING order). Returns false if the order was not in {@code from}.
+     */
+    @Transactional
+    public boolean transitionStatus(Long orderId, String from, String to) {
+        if (orderRepository.updateStatusIf(orderId, from, to) != 1) {
+            return false;
+        }
+        summaryService.updateStatus(orderId, to);
+        return true;
+    }
+
+    private void publish(OrderEvent.Type type, Order order) {
+        List<OrderEvent.Line> lines = order.getItems().stream()
+                .filter(item -> item.getProduct() != null)
+                .map(item -> new OrderEvent.Line(item.getProduct().getId(), item.getProductName(),
+                        item.getQuantity(), unitPrice(item)))
+                .collect(Collectors.toList());
+        eventPublisher.publishEvent(new OrderEvent(type, order.getId(), order.getCreatedAt(), order.getStatus(), lines));
     }
 
     // DTO <-> Entity mapping
@@ -156,14 +195,17 @@ public class OrderService {
 
     public OrderItemDTO toDTO(OrderItem item) {
         OrderItemDTO dto = new OrderItemDTO();
+        dto.setProductId(item.getProductId());
         dto.setQuantity(item.getQuantity());
-        dto.setPrice(item.getProduct() != null ? item.getProduct().getPrice() : 0);
-        if (item.getProduct() != null) {
-            dto.setProduct(toDTO(item.getProduct()));
-        }
+        dto.setPrice(unitPrice(item));
+        dto.setProductName(item.getProductName());
         return dto;
     }
 
+    private static double unitPrice(OrderItem item) {
+        return item.getUnitPrice() != null ? item.getUnitPrice() : 0;
+    }
+
     public UserDTO toDTO(User user) {
         if (user == null) return null;
         UserDTO dto = new UserDTO();
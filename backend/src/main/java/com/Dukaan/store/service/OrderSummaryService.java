@@ -0,0 +1,189 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.OrderSummaryDTO;
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.OrderSummary;
+import com.Dukaan.store.repository.OrderSummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the order_summary read model. Every write that changes what an order list
+ * shows (checkout, status change, cancellation, deletion, a user's email) updates the
+ * summary in the caller's transaction, so lists never show an order the database
+ * rolled back and never lag behind a committed one.
+ */
+@Service
+public class OrderSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryService.class);
+
+    // Open end of a date filter given only one bound, so it stays a range scan on the same index
+    private static final LocalDateTime EARLIEST = LocalDate.of(1970, 1, 1).atStartOfDay();
+    private static final LocalDateTime LATEST = LocalDate.of(9999, 12, 31).atStartOfDay();
+
+    @Autowired
+    private OrderSummaryRepository summaryRepository;
+    @Autowired
+    private CountCache countCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public void record(Order order) {
+        countCache.invalidate(CountCache.ORDERS);
+        int itemCount = order.getItems().stream().mapToInt(OrderItem::getQuantity).sum();
+        // persist, not save: the id is assigned, so save would first look the row up
+        entityManager.persist(new OrderSummary(order.getId(),
+                order.getUser() != null ? order.getUser().getId() : null,
+                order.getUser() != null ? order.getUser().getEmail() : null,
+                itemCount, order.getTotalPrice(), order.getStatus(), order.getCreatedAt()));
+    }
+
+    /**
+     * Insert summaries for orders written with plain JDBC, as one batch.
+     */
+    @Transactional
+    public void recordAll(List<OrderSummary> summaries) {
+        countCache.invalidate(CountCache.ORDERS);
+        List<Object[]> rows = summaries.stream()
+                .map(s -> new Object[]{s.getId(), s.getUserId(), s.getUserEmail(), s.getItemCount(),
+                        s.getTotalPrice(), s.getStatus(), Timestamp.valueOf(s.getCreatedAt())})
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate("INSERT INTO order_summary (id, user_id, user_email, item_count, total_price, status, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Transactional
+    public void updateStatus(Long orderId, String status) {
+        countCache.invalidate(CountCache.ORDERS);
+        summaryRepository.updateStatus(orderId, status);
+    }
+
+    /**
+     * Recount the units on an order after its lines were changed directly.
+     */
+    @Transactional
+    public void refreshItemCount(Long orderId) {
+        entityManager.createQuery("update OrderSummary s set s.itemCount = " +
+                        "(select cast(coalesce(sum(i.quantity), 0) as Integer) from OrderItem i where i.order.id = :id) " +
+                        "where s.id = :id")
+                .setParameter("id", orderId)
+                .executeUpdate();
+    }
+
+    @Transactional
+    public void userEmailChanged(Long userId, String email) {
+        summaryRepository.updateUserEmail(userId, email);
+    }
+
+    @Transactional
+    public void delete(Long orderId) {
+        countCache.invalidate(CountCache.ORDERS);
+        summaryRepository.deleteById(orderId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderSummaryDTO> getAllSummaries() {
+        return summaryRepository.findAllByOrderByCreatedAtDesc().stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderSummaryDTO> getSummariesByUserId(Long userId) {
+        return summaryRepository.findByUserIdOrderByCreatedAtDesc(userId).stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * @param startDate first day included, or null for no lower bound
+     * @param endDate last day included, or null for no upper bound
+     */
+    @Transactional(readOnly = true)
+    public Page<OrderSummaryDTO> getSummariesFiltered(String status, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        String normalized = normalizeStatus(status);
+        if (startDate == null && endDate == null) {
+            return countCache.page(findSummaries(normalized, pageable), CountCache.ORDERS, normalized + "|any",
+                    () -> normalized != null ? summaryRepository.countByStatus(normalized) : summaryRepository.count());
+        }
+        LocalDateTime start = startDate != null ? startDate.atStartOfDay() : EARLIEST;
+        LocalDateTime end = endDate != null ? endDate.plusDays(1).atStartOfDay() : LATEST;
+        return countCache.page(findSummaries(normalized, start, end, pageable), CountCache.ORDERS,
+                normalized + "|" + start + "|" + end, () -> normalized != null
+                        ? summaryRepository.countByStatusAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(normalized, start, end)
+                        : summaryRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(start, end));
+    }
+
+    /**
+     * Same rows as {@link #getSummariesFiltered}, without a total.
+     */
+    @Transactional(readOnly = true)
+    public Slice<OrderSummaryDTO> getSummariesSlice(String status, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        if (startDate == null && endDate == null) {
+            return findSummaries(normalizeStatus(status), pageable);
+        }
+        LocalDateTime start = startDate != null ? startDate.atStartOfDay() : EARLIEST;
+        LocalDateTime end = endDate != null ? endDate.plusDays(1).atStartOfDay() : LATEST;
+        return findSummaries(normalizeStatus(status), start, end, pageable);
+    }
+
+    private Slice<OrderSummaryDTO> findSummaries(String status, Pageable pageable) {
+        Slice<OrderSummary> slice = status != null
+                ? summaryRepository.findByStatus(status, pageable)
+                : summaryRepository.findAllBy(pageable);
+        return slice.map(this::toDTO);
+    }
+
+    private Slice<OrderSummaryDTO> findSummaries(String status, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        Slice<OrderSummary> slice = status != null
+                ? summaryRepository.findByStatusAndCreatedAtGreaterThanEqualAndCreatedAtLessThan(status, start, end, pageable)
+                : summaryRepository.findByCreatedAtGreaterThanEqualAndCreatedAtLessThan(start, end, pageable);
+        return slice.map(this::toDTO);
+    }
+
+    private static String normalizeStatus(String status) {
+        return status != null && !status.trim().isEmpty() ? status.trim().toUpperCase() : null;
+    }
+
+    /**
+     * Orders placed before the read model existed get their summary on first start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int inserted = entityManager.createQuery("insert into OrderSummary " +
+                        "(id, userId, userEmail, itemCount, totalPrice, status, createdAt) " +
+                        "select o.id, u.id, u.email, " +
+                        "(select cast(coalesce(sum(i.quantity), 0) as Integer) from OrderItem i where i.order = o), " +
+                        "o.totalPrice, o.status, o.createdAt " +
+                        "from Order o left join o.user u " +
+                        "where not exists (select 1 from OrderSummary s where s.id = o.id)")
+                .executeUpdate();
+        if (inserted > 0) {
+            logger.info("Backfilled {} order summaries", inserted);
+        }
+    }
+
+    private OrderSummaryDTO toDTO(OrderSummary summary) {
+        return new OrderSummaryDTO(summary.getId(), summary.getUserEmail(), summary.getItemCount(),
+                summary.getTotalPrice(), summary.getStatus(), summary.getCreatedAt());
+    }
+}
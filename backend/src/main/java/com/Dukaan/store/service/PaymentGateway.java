@@ -0,0 +1,10 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.PaymentResult;
+
+/**
+ * Blocking client for a payment provider's API.
+ */
+public interface PaymentGateway {
+    PaymentResult charge(String provider, double amount) throws Exception;
+}
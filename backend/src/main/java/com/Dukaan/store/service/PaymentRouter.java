@@ -0,0 +1,98 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.PaymentResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Looks up the PaymentService for a provider name and fails over to the other
+ * providers when the requested one is unavailable. Failover only happens when the
+ * call was never sent (breaker open or pool full); a timeout or gateway error may
+ * still have charged the customer, so those are reported instead of retried elsewhere.
+ */
+@Service
+public class PaymentRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRouter.class);
+
+    private final Map<String, PaymentService> providers = new LinkedHashMap<>();
+
+    @Value("${store.payment.failover-enabled:true}")
+    private boolean failoverEnabled = true;
+
+    @Autowired
+    public PaymentRouter(List<PaymentService> paymentServices) {
+        for (PaymentService service : paymentServices) {
+            providers.put(service.getProvider(), service);
+        }
+    }
+
+    public CompletableFuture<PaymentResult> pay(String provider, double amount) {
+        return pay(provider, amount, (result, ex) -> {});
+    }
+
+    /**
+     * @param onGatewayAnswer called with the answer of the provider that was actually sent the
+     *                        charge, even after a timeout; see {@link PaymentService#processPayment(double, BiConsumer)}
+     */
+    public CompletableFuture<PaymentResult> pay(String provider, double amount, BiConsumer<PaymentResult, Throwable> onGatewayAnswer) {
+        PaymentService requested = providers.get(provider.toLowerCase());
+        if (requested == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Unknown payment provider: " + provider + ". Valid providers: " + providers.keySet()));
+        }
+        if (!failoverEnabled) {
+            return requested.processPayment(amount, onGatewayAnswer);
+        }
+        // Requested provider first, then healthy fallbacks, then the unhealthy ones as a last resort
+        List<PaymentService> candidates = new ArrayList<>();
+        candidates.add(requested);
+        for (PaymentService service : providers.values()) {
+            if (service != requested && service.isAvailable()) {
+                candidates.add(service);
+            }
+        }
+        for (PaymentService service : providers.values()) {
+            if (!candidates.contains(service)) {
+                candidates.add(service);
+            }
+        }
+        return attempt(candidates, 0, amount, onGatewayAnswer);
+    }
+
+    public Collection<PaymentService> getProviders() {
+        return providers.values();
+    }
+
+    public PaymentService getProvider(String provider) {
+        return providers.get(provider.toLowerCase());
+    }
+
+    private CompletableFuture<PaymentResult> attempt(List<PaymentService> candidates, int index, double amount,
+                                                     BiConsumer<PaymentResult, Throwable> onGatewayAnswer) {
+        PaymentService service = candidates.get(index);
+        return service.processPayment(amount, onGatewayAnswer).exceptionallyCompose(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            boolean notSent = cause instanceof CallNotPermittedException || cause instanceof RejectedExecutionException;
+            if (!notSent || index + 1 >= candidates.size()) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            logger.info("{} unavailable ({}), failing over to {}", service.getProvider(), cause.getMessage(),
+                    candidates.get(index + 1).getProvider());
+            return attempt(candidates, index + 1, amount, onGatewayAnswer);
+        });
+    }
+}
@@ -1,5 +1,37 @@
 package com.Dukaan.store.service;
 
+import com.Dukaan.store.dto.PaymentResult;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
 public interface PaymentService {
-    void processPayment(double amount);
+    /**
+     * Provider name used for routing, e.g. "stripe".
+     */
+    String getProvider();
+
+    /**
+     * Charge the amount without blocking the caller. The future completes with the
+     * gateway's answer, or exceptionally on timeout or when the provider is saturated.
+     */
+    CompletableFuture<PaymentResult> processPayment(double amount);
+
+    /**
+     * As {@link #processPayment(double)}, and also calls {@code onGatewayAnswer} with the
+     * gateway's own result or error once it arrives, even if the returned future has already
+     * timed out. It is not called when the charge was never sent.
+     */
+    default CompletableFuture<PaymentResult> processPayment(double amount, BiConsumer<PaymentResult, Throwable> onGatewayAnswer) {
+        return processPayment(amount).whenComplete((result, ex) -> {
+            if (!(ex instanceof CallNotPermittedException) && !(ex instanceof RejectedExecutionException)) {
+                onGatewayAnswer.accept(result, ex);
+            }
+        });
+    }
+
+    /**
+     * Whether the provider would accept a call right now (breaker not open, room in its pool).
+     */
+    boolean isAvailable();
 }
@@ -1,14 +1,21 @@
 package com.Dukaan.store.service;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
-public class PaypalPaymentService implements PaymentService {
-    @Override
-    public void processPayment(double amount) {
-        // Logic to process payment using PayPal
-        System.out.println("PayPal");
-        System.out.println("Processing payment of amount: " + amount);
+public class PaypalPaymentService extends AbstractPaymentService {
+
+    public PaypalPaymentService(
+            CircuitBreakerFactory circuitBreakerFactory,
+            @Value("${store.payment.paypal.max-concurrency:32}") int maxConcurrency,
+            @Value("${store.payment.paypal.queue-capacity:256}") int queueCapacity,
+            @Value("${store.payment.paypal.timeout-ms:3000}") long timeoutMs,
+            @Value("${store.payment.paypal.fake-latency-ms:300}") long fakeLatencyMs,
+            @Value("${store.payment.paypal.fake-decline-rate:0.0}") double fakeDeclineRate,
+            @Value("${store.payment.paypal.fake-failure-rate:0.0}") double fakeFailureRate) {
+        // Logic to process payment using PayPal; the local fake gateway stands in for the PayPal API
+        super("paypal", new FakePaymentGateway(fakeLatencyMs, fakeDeclineRate, fakeFailureRate),
+                circuitBreakerFactory.create("paypal"), maxConcurrency, queueCapacity, timeoutMs);
     }
-    
 }
@@ -0,0 +1,249 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.ProductChangedEvent;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Price histograms for the catalog search, computed from an in-memory price
+ * column sorted ascending. Each bucket count is two binary searches, so
+ * faceting the whole catalog costs O(buckets * log n) regardless of size.
+ * A name filter scans the parallel text column once, or, when full-text
+ * search is available, keeps the ids matched by the search's own tsquery;
+ * either way matching prices come out already sorted. The column is rebuilt lazily after a price, name or
+ * description change; stock-only updates from checkout leave it alone.
+ * Events from plain SQL writes do not say what changed, so those products
+ * are only marked stale and reloaded together on the next histogram.
+ */
+@Service
+public class PriceFacetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceFacetService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductFullTextIndex fullTextIndex;
+
+    private static final class Row {
+        final long id;
+        final double price;
+        final String text;
+
+        Row(long id, double price, String text) {
+            this.id = id;
+            this.price = price;
+            this.text = text;
+        }
+    }
+
+    // Parallel arrays ordered by price
+    private static final class Column {
+        final long[] ids;
+        final double[] prices;
+        final String[] texts;
+
+        Column(long[] ids, double[] prices, String[] texts) {
+            this.ids = ids;
+            this.prices = prices;
+            this.texts = texts;
+        }
+    }
+
+    private final Map<Long, Row> rows = new ConcurrentHashMap<>();
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private volatile Column column = new Column(new long[0], new double[0], new String[0]);
+    private volatile boolean dirty;
+
+    /**
+     * Equal-width price buckets over the products matching {@code name} (optional)
+     * within [minPrice, maxPrice] (both optional).
+     */
+    public Map<String, Object> priceHistogram(String name, Double minPrice, Double maxPrice, int bucketCount) {
+        double[] prices = currentColumn(name);
+        int from = minPrice != null ? lowerBound(prices, 0, prices.length, minPrice) : 0;
+        int to = maxPrice != null ? upperBound(prices, from, prices.length, maxPrice) : prices.length;
+
+        return histogram(prices, from, to, bucketCount);
+    }
+
+    // Equal-width buckets over the sorted prices in [from, to)
+    static Map<String, Object> histogram(double[] prices, int from, int to, int bucketCount) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", to - from);
+        List<Map<String, Object>> buckets = new ArrayList<>(bucketCount);
+        result.put("buckets", buckets);
+        if (from >= to) {
+            return result;
+        }
+
+        double low = prices[from];
+        double high = prices[to - 1];
+        result.put("min", low);
+        result.put("max", high);
+        if (low == high) {
+            // Every price is the same: one bucket holds them all
+            buckets.add(bucket(low, high, to - from));
+            return result;
+        }
+        double width = (high - low) / bucketCount;
+        int start = from;
+        for (int i = 0; i < bucketCount; i++) {
+            double upper = i == bucketCount - 1 ? high : low + width * (i + 1);
+            // The last bucket is closed so the maximum price is counted
+            int end = i == bucketCount - 1 ? to : lowerBound(prices, start, to, upper);
+            buckets.add(bucket(low + width * i, upper, end - start));
+            start = end;
+        }
+        return result;
+    }
+
+    private static Map<String, Object> bucket(double from, double to, int count) {
+        Map<String, Object> bucket = new LinkedHashMap<>();
+        bucket.put("from", from);
+        bucket.put("to", to);
+        bucket.put("count", count);
+        return bucket;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Product> products = productRepository.findAll();
+        products.forEach(p -> rows.put(p.getId(), toRow(p)));
+        dirty = true;
+        logger.info("Loaded {} product prices for facets", products.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            dirty |= rows.remove(event.getProductId()) != null;
+            return;
+        }
+        if (event.getPrice() == null) {
+            stale.add(event.getProductId());
+            return;
+        }
+        put(event.getProductId(), toRow(event.getProductId(), event.getName(), event.getDescription(), event.getPrice()));
+    }
+
+    private void put(Long productId, Row updated) {
+        Row previous = rows.put(productId, updated);
+        if (previous == null || previous.price != updated.price || !previous.text.equals(updated.text)) {
+            dirty = true;
+        }
+    }
+
+    private void reloadStale() {
+        List<Long> ids = new ArrayList<>(stale);
+        ids.forEach(stale::remove);
+        productRepository.findAllById(ids).forEach(product -> put(product.getId(), toRow(product)));
+    }
+
+    private double[] currentColumn(String name) {
+        if (!stale.isEmpty()) {
+            reloadStale();
+        }
+        Column current = dirty ? rebuild() : column;
+        if (name == null || name.trim().isEmpty()) {
+            return current.prices;
+        }
+        if (fullTextIndex.isAvailable()) {
+            // Same tsquery as ProductService.findProducts, so the facets count what the search returns
+            return pricesOf(current.ids, current.prices, new HashSet<>(productRepository.searchFullTextIds(name.trim())));
+        }
+        String needle = name.toLowerCase();
+        double[] matches = new double[current.prices.length];
+        int count = 0;
+        for (int i = 0; i < current.texts.length; i++) {
+            if (current.texts[i].contains(needle)) {
+                matches[count++] = current.prices[i];
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private synchronized Column rebuild() {
+        if (!dirty) {
+            return column;
+        }
+        dirty = false;
+        Row[] snapshot = rows.values().toArray(new Row[0]);
+        Arrays.sort(snapshot, (a, b) -> Double.compare(a.price, b.price));
+        long[] ids = new long[snapshot.length];
+        double[] prices = new double[snapshot.length];
+        String[] texts = new String[snapshot.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            ids[i] = snapshot[i].id;
+            prices[i] = snapshot[i].price;
+            texts[i] = snapshot[i].text;
+        }
+        column = new Column(ids, prices, texts);
+        return column;
+    }
+
+    // Prices of the products in {@code wanted}, in column (price) order
+    static double[] pricesOf(long[] ids, double[] prices, Set<Long> wanted) {
+        double[] matches = new double[Math.min(prices.length, wanted.size())];
+        int count = 0;
+        for (int i = 0; i < ids.length && count < matches.length; i++) {
+            if (wanted.contains(ids[i])) {
+                matches[count++] = prices[i];
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static Row toRow(Product product) {
+        return toRow(product.getId(), product.getName(), product.getDescription(), product.getPrice());
+    }
+
+    private static Row toRow(long id, String name, String description, double price) {
+        // Same fields and case-folding as the LIKE fallback of ProductService.searchProducts
+        String text = (name != null ? name.toLowerCase() : "") + "\n" +
+                      (description != null ? description.toLowerCase() : "");
+        return new Row(id, price, text);
+    }
+
+    // First index in [from, to) whose price is >= value
+    static int lowerBound(double[] prices, int from, int to, double value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (prices[mid] < value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    // First index in [from, to) whose price is > value
+    static int upperBound(double[] prices, int from, int to, double value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (prices[mid] <= value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+}
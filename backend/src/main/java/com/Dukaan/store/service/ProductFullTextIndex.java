@@ -0,0 +1,64 @@
+package com.Dukaan.store.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Full-text search support for the product table. On PostgreSQL this adds a stored
+ * generated {@code search_vector} column (name weighted above description) and a GIN
+ * index over it; Hibernate's schema update does not know about either, so they are
+ * created here once the schema exists. Until that has succeeded, on any other
+ * database (H2 in tests), and unless {@code store.search.full-text.enabled} is set,
+ * ProductService searches with a case-insensitive LIKE.
+ */
+@Service
+public class ProductFullTextIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductFullTextIndex.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${store.search.full-text.enabled:false}")
+    private boolean enabled;
+
+    private volatile boolean available;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void createIndex() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                logger.info("Full-text product search needs PostgreSQL, {} searches with LIKE", database);
+                return;
+            }
+            jdbcTemplate.execute("ALTER TABLE product ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                    "GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('english', coalesce(name, '')), 'A') || " +
+                    "setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_product_search_vector ON product USING GIN (search_vector)");
+            available = true;
+            logger.info("Full-text product search enabled");
+        } catch (DataAccessException e) {
+            logger.warn("Could not create the product full-text index, searching with LIKE", e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -3,25 +3,66 @@ package com.Dukaan.store.service;
 import com.Dukaan.store.model.Product;
 import com.Dukaan.store.repository.ProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+/**
+ * Product reads by id and searches are coalesced: concurrent identical requests share
+ * one database load (see {@link SingleFlight}), so a burst of traffic on one product
+ * costs one query per round trip instead of one per request. Only the leading request
+ * holds a connection while the load runs. Each caller gets its own copy of the result.
+ */
 @Service
 public class ProductService {
 
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private ProductFullTextIndex fullTextIndex;
+    @Autowired
+    private CountCache countCache;
+
+    private final boolean coalescingEnabled;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<Product> productLoads;
+    private final SingleFlight<Page<Product>> searchLoads;
+
+    public ProductService(PlatformTransactionManager transactionManager,
+                          @Value("${store.single-flight.enabled:true}") boolean coalescingEnabled,
+                          @Value("${store.single-flight.max-wait-ms:2000}") long maxWaitMillis,
+                          @Value("${store.single-flight.max-tracked-keys:1000}") int maxTrackedKeys) {
+        this.coalescingEnabled = coalescingEnabled;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.productLoads = new SingleFlight<>("product", maxWaitMillis, maxTrackedKeys);
+        this.searchLoads = new SingleFlight<>("search", maxWaitMillis, maxTrackedKeys);
+    }
 
+    @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
     public Product getProductById(Long id) {
-        return productRepository.findById(id).orElse(null);
+        if (!coalescing()) {
+            // Joins the caller's transaction if there is one; otherwise reads on the catalog pool
+            return readOnlyTransaction.execute(status -> productRepository.findById(id).orElse(null));
+        }
+        // The shared value is itself a copy, so a request updating its managed product cannot change it
+        Product shared = productLoads.execute(String.valueOf(id), () -> readOnlyTransaction.execute(status ->
+                productRepository.findById(id).map(Product::new).orElse(null)));
+        return shared != null ? new Product(shared) : null;
     }
 
     public Product createProduct(Product product) {
@@ -32,32 +73,71 @@ public class ProductService {
         productRepository.deleteById(id);
     }
 
-    public List<Product> searchProducts(String name, Double minPrice, Double maxPrice) {
-        List<Product> allProducts = productRepository.findAll();
-        
-        return allProducts.stream()
-                .filter(product -> {
-                    boolean matches = true;
-                    
-                    if (name != null && !name.trim().isEmpty()) {
-                        matches = matches && (product.getName().toLowerCase().contains(name.toLowerCase()) ||
-                                            product.getDescription().toLowerCase().contains(name.toLowerCase()));
-                    }
-                    
-                    if (minPrice != null) {
-                        matches = matches && product.getPrice() >= minPrice;
-                    }
-                    
-                    if (maxPrice != null) {
-                        matches = matches && product.getPrice() <= maxPrice;
-                    }
-                    
-                    return matches;
-                })
-                .collect(Collectors.toList());
+    /**
+     * Products matching {@code name} (optional) in [minPrice, maxPrice] (both optional),
+     * filtered, ranked and paged by the database. On PostgreSQL {@code name} is a web-style
+     * full-text query over name and description, best matches first; elsewhere it is a
+     * case-insensitive substring, name matches first.
+     */
+    public Page<Product> searchProducts(String name, Double minPrice, Double maxPrice, Pageable pageable) {
+        if (!coalescing()) {
+            return readOnlyTransaction.execute(status -> findProducts(name, minPrice, maxPrice, pageable));
+        }
+        String key = (name != null ? name.trim().toLowerCase() : "") + "|" + minPrice + "|" + maxPrice + "|"
+                + pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort();
+        Page<Product> shared = searchLoads.execute(key, () -> readOnlyTransaction.execute(status ->
+                findProducts(name, minPrice, maxPrice, pageable).map(Product::new)));
+        return shared.map(Product::new);
+    }
+
+    private Page<Product> findProducts(String name, Double minPrice, Double maxPrice, Pageable pageable) {
+        double min = minPrice != null ? minPrice : -Double.MAX_VALUE;
+        double max = maxPrice != null ? maxPrice : Double.MAX_VALUE;
+        if (name == null || name.trim().isEmpty()) {
+            return productRepository.findByPriceBetween(min, max, pageable);
+        }
+        if (fullTextIndex.isAvailable()) {
+            return productRepository.searchFullText(name.trim(), min, max, pageable);
+        }
+        return productRepository.searchByPattern(SearchPatterns.containing(name), min, max, pageable);
     }
 
+    /**
+     * One page of products; the total comes from {@link CountCache}.
+     */
+    @Transactional(readOnly = true)
     public Page<Product> getProductsPaginated(Pageable pageable) {
-        return productRepository.findAll(pageable);
+        return countCache.page(productRepository.findAllBy(pageable), CountCache.PRODUCTS, "", productRepository::count);
+    }
+
+    /**
+     * One page of products without a total.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Product> getProductsSlice(Pageable pageable) {
+        return productRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Single-flight statistics for product reads and searches.
+     */
+    public Map<String, Object> getSingleFlightMetrics(int topKeys) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", coalescingEnabled);
+        metrics.put("productById", productLoads.toMap(topKeys));
+        metrics.put("search", searchLoads.toMap(topKeys));
+        return metrics;
+    }
+
+    public void resetSingleFlightStats() {
+        productLoads.reset();
+        searchLoads.reset();
+    }
+
+    // Inside a read-write transaction the caller must see its own uncommitted writes
+    // and get managed entities, so it loads on its own
+    private boolean coalescing() {
+        return coalescingEnabled && !(TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
     }
 }
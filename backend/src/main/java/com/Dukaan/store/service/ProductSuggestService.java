@@ -0,0 +1,158 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.ProductChangedEvent;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index over product names for search-box suggestions.
+ * Every word start of a normalized name is a key in a sorted skip list, so a
+ * prefix lookup is a seek plus a short forward scan and never touches the
+ * database. The index is loaded once at startup and patched per product
+ * after each committed product write; a write that leaves the name alone,
+ * such as a checkout changing stock, only refreshes the stock used for ranking.
+ */
+@Service
+public class ProductSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestService.class);
+
+    // Separates the indexed text from the product id so keys stay unique
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    public static final class Suggestion {
+        private final Long id;
+        private final String name;
+        private final int stock;
+
+        Suggestion(Long id, String name, int stock) {
+            this.id = id;
+            this.name = name;
+            this.stock = stock;
+        }
+
+        public Long getId() { return id; }
+
+        public String getName() { return name; }
+
+        public int getStock() { return stock; }
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${store.suggest.max-scan:2000}")
+    private int maxScan = 2000;
+
+    private final ConcurrentSkipListMap<String, Suggestion> index = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysByProduct = new ConcurrentHashMap<>();
+
+    /**
+     * Products whose name has a word starting with {@code prefix}, in-stock and best-stocked first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Suggestion> matches = new LinkedHashMap<>();
+        int scanned = 0;
+        for (Map.Entry<String, Suggestion> entry : index.tailMap(normalized).entrySet()) {
+            if (!entry.getKey().startsWith(normalized) || ++scanned > maxScan) {
+                break;
+            }
+            matches.putIfAbsent(entry.getValue().getId(), entry.getValue());
+        }
+        List<Suggestion> ranked = new ArrayList<>(matches.values());
+        ranked.sort(Comparator.comparingInt(Suggestion::getStock).reversed()
+                .thenComparing(Suggestion::getName, String.CASE_INSENSITIVE_ORDER));
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Product> products = productRepository.findAll();
+        products.forEach(this::put);
+        logger.info("Indexed {} product names for suggestions", products.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            remove(event.getProductId());
+            return;
+        }
+        if (event.getName() == null || event.getStock() == null) {
+            // Written with plain SQL, so the event does not say what changed
+            productRepository.findById(event.getProductId()).ifPresentOrElse(this::put, () -> remove(event.getProductId()));
+            return;
+        }
+        put(event.getProductId(), event.getName(), event.getStock());
+    }
+
+    private void put(Product product) {
+        put(product.getId(), product.getName(), product.getStock());
+    }
+
+    private synchronized void put(Long productId, String name, int stock) {
+        List<String> existing = keysByProduct.get(productId);
+        if (existing != null && !existing.isEmpty() && name != null) {
+            Suggestion current = index.get(existing.get(0));
+            if (current != null && name.equals(current.getName())) {
+                // Same name, same keys: only the stock can have changed
+                if (current.getStock() != stock) {
+                    Suggestion updated = new Suggestion(productId, name, stock);
+                    existing.forEach(key -> index.put(key, updated));
+                }
+                return;
+            }
+        }
+        remove(productId);
+        if (name == null) {
+            return;
+        }
+        Suggestion suggestion = new Suggestion(productId, name, stock);
+        List<String> keys = new ArrayList<>();
+        String normalized = normalize(name);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                String key = normalized.substring(i) + KEY_SEPARATOR + productId;
+                index.put(key, suggestion);
+                keys.add(key);
+            }
+        }
+        keysByProduct.put(productId, keys);
+    }
+
+    private synchronized void remove(Long productId) {
+        List<String> keys = keysByProduct.remove(productId);
+        if (keys != null) {
+            keys.forEach(index::remove);
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
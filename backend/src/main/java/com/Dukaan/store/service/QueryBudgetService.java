@@ -0,0 +1,157 @@
+package com.Dukaan.store.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-request SQL budgets. Each request's statement count is checked against the budget
+ * of the controller method that handled it ({@code store.sql-budget.endpoints}, falling
+ * back to {@code store.sql-budget.max-statements}); requests over budget are logged, and
+ * so are requests that ran one statement {@code store.sql-budget.repeat-threshold} times
+ * or more, the usual sign of an N+1 walk over a lazy association. Counts are also
+ * aggregated per endpoint for {@code GET /api/admin/queries/budgets}.
+ */
+@Service
+public class QueryBudgetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetService.class);
+
+    private static final int MAX_ENDPOINTS = 500;
+    private static final String OTHER = "(other)";
+
+    private final ConcurrentHashMap<String, EndpointStat> endpoints = new ConcurrentHashMap<>();
+    private final int defaultBudget;
+    private final Map<String, Integer> endpointBudgets;
+    private final int repeatThreshold;
+
+    public QueryBudgetService(
+            @Value("${store.sql-budget.max-statements:20}") int defaultBudget,
+            @Value("${store.sql-budget.endpoints:}") String endpointBudgets,
+            @Value("${store.sql-budget.repeat-threshold:10}") int repeatThreshold) {
+        this.defaultBudget = defaultBudget;
+        this.endpointBudgets = parseBudgets(endpointBudgets);
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    /**
+     * Parse {@code Controller#method=budget} pairs separated by commas.
+     */
+    static Map<String, Integer> parseBudgets(String spec) {
+        Map<String, Integer> budgets = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return budgets;
+        }
+        for (String entry : spec.split(",")) {
+            int eq = entry.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("SQL budgets must look like Controller#method=count, got '" + entry + "'");
+            }
+            budgets.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+        return Collections.unmodifiableMap(budgets);
+    }
+
+    public int getBudget(String endpoint) {
+        return endpointBudgets.getOrDefault(endpoint, defaultBudget);
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    /**
+     * Check one finished request and add it to its endpoint's totals.
+     * @return true if the request stayed within its budget
+     */
+    public boolean check(String endpoint, QueryCounter counter) {
+        int statements = counter.getStatements();
+        int budget = getBudget(endpoint);
+        boolean overBudget = statements > budget;
+        if (overBudget) {
+            logger.warn("{} ran {} SQL statements, over its budget of {}", endpoint, statements, budget);
+        }
+        Map.Entry<String, Integer> repeated = counter.getMostRepeated();
+        boolean nPlusOne = repeated != null && repeated.getValue() >= repeatThreshold;
+        if (nPlusOne) {
+            logger.warn("Possible N+1 in {}: {} executions of {}", endpoint, repeated.getValue(), repeated.getKey());
+        }
+
+        EndpointStat stat = endpoints.get(endpoint);
+        if (stat == null) {
+            // Unmapped paths (e.g. 404 probes) could otherwise grow the map without bound
+            String key = endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER;
+            stat = endpoints.computeIfAbsent(key, k -> new EndpointStat(k, getBudget(k)));
+        }
+        stat.add(statements, overBudget, nPlusOne);
+        return !overBudget;
+    }
+
+    /**
+     * Per-endpoint totals, the endpoints with the most statements in one request first.
+     */
+    public List<EndpointStat> getEndpointStats() {
+        return endpoints.values().stream()
+                .sorted(Comparator.comparingInt(EndpointStat::getMaxStatements).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public static class EndpointStat {
+        private final String endpoint;
+        private final int budget;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+        private final LongAdder overBudget = new LongAdder();
+        private final LongAdder repeatedStatements = new LongAdder();
+
+        EndpointStat(String endpoint, int budget) {
+            this.endpoint = endpoint;
+            this.budget = budget;
+        }
+
+        void add(int count, boolean over, boolean repeated) {
+            requests.increment();
+            statements.add(count);
+            maxStatements.accumulateAndGet(count, Math::max);
+            if (over) {
+                overBudget.increment();
+            }
+            if (repeated) {
+                repeatedStatements.increment();
+            }
+        }
+
+        public String getEndpoint() { return endpoint; }
+
+        public int getBudget() { return budget; }
+
+        public long getRequests() { return requests.sum(); }
+
+        public double getMeanStatements() {
+            long n = requests.sum();
+            return n == 0 ? 0 : (double) statements.sum() / n;
+        }
+
+        public int getMaxStatements() { return maxStatements.get(); }
+
+        public long getOverBudget() { return overBudget.sum(); }
+
+        /** Requests in which one statement ran at least the repeat threshold times. */
+        public long getRepeatedStatements() { return repeatedStatements.sum(); }
+    }
+}
@@ -0,0 +1,84 @@
+package com.Dukaan.store.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements issued on the current thread while it is open, in total and
+ * per normalized statement. {@link com.Dukaan.store.web.QueryBudgetFilter} opens one per
+ * request; tests can open their own around any piece of code. Counters nest, and an
+ * open counter sees the statements of every counter opened inside it. Statements run on
+ * other threads (async payment workers, a single-flight load led by another request) are
+ * not counted. Counting happens in {@link QueryStatsService}, so it needs
+ * {@code store.query-stats.enabled=true}.
+ */
+public final class QueryCounter implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> counts = new HashMap<>();
+    private int statements;
+    private QueryCounter outer;
+    private boolean open;
+
+    /**
+     * A new counter, counting from now until {@link #close()}.
+     */
+    public static QueryCounter open() {
+        return new QueryCounter().resume();
+    }
+
+    /**
+     * Count on the current thread again, e.g. for the async dispatch of a request.
+     */
+    public QueryCounter resume() {
+        if (open) {
+            throw new IllegalStateException("Query counter is already open");
+        }
+        outer = CURRENT.get();
+        CURRENT.set(this);
+        open = true;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (!open) {
+            return;
+        }
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+        outer = null;
+        open = false;
+    }
+
+    static void record(String normalizedSql) {
+        for (QueryCounter counter = CURRENT.get(); counter != null; counter = counter.outer) {
+            counter.statements++;
+            counter.counts.merge(normalizedSql, 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Executions per normalized statement.
+     */
+    public Map<String, Integer> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * The statement executed most often, or null if none ran. Many executions of one
+     * statement in one request is the signature of an N+1 walk over a lazy association.
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return counts.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
@@ -0,0 +1,215 @@
+package com.Dukaan.store.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates timings of every JDBC statement by normalized SQL text (literals and
+ * IN-lists collapsed), and keeps a short log of statements slower than the threshold.
+ * Each statement is attributed to the controller method handling the current request,
+ * or to the background thread pool that ran it.
+ */
+@Service
+public class QueryStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsService.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_ORIGINS_PER_QUERY = 10;
+    private static final int MAX_NORMALIZED_CACHE = 2000;
+    private static final String OTHER = "(other)";
+
+    private final ConcurrentHashMap<String, QueryStat> stats = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> normalizedCache = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    private final long slowThresholdNanos;
+    private final int maxDistinctQueries;
+    private final int slowLogSize;
+
+    public QueryStatsService(
+            @Value("${store.query-stats.slow-threshold-ms:200}") long slowThresholdMs,
+            @Value("${store.query-stats.max-distinct:500}") int maxDistinctQueries,
+            @Value("${store.query-stats.slow-log-size:100}") int slowLogSize) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxDistinctQueries = maxDistinctQueries;
+        this.slowLogSize = slowLogSize;
+    }
+
+    public void record(String sql, long elapsedNanos) {
+        if (sql == null) {
+            return;
+        }
+        String normalized = cachedNormalize(sql);
+        QueryCounter.record(normalized);
+        String origin = currentOrigin();
+        QueryStat stat = stats.get(normalized);
+        if (stat == null) {
+            // Past the cap, new shapes are lumped together rather than growing the map
+            String key = stats.size() < maxDistinctQueries ? normalized : OTHER;
+            stat = stats.computeIfAbsent(key, QueryStat::new);
+        }
+        stat.add(elapsedNanos, origin);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            logger.warn("Slow query ({} ms) from {}: {}", millis, origin, sql);
+            synchronized (slowQueries) {
+                if (slowQueries.size() >= slowLogSize) {
+                    slowQueries.removeFirst();
+                }
+                slowQueries.addLast(new SlowQuery(sql, millis, origin, LocalDateTime.now()));
+            }
+        }
+    }
+
+    /**
+     * Aggregated statistics, most expensive first.
+     * @param sortBy "total" (default), "count", "max" or "mean"
+     */
+    public List<QueryStat> getStats(String sortBy, int limit) {
+        Comparator<QueryStat> order;
+        switch (sortBy == null ? "total" : sortBy) {
+            case "count": order = Comparator.comparingLong(QueryStat::getCount); break;
+            case "max": order = Comparator.comparingDouble(QueryStat::getMaxMs); break;
+            case "mean": order = Comparator.comparingDouble(QueryStat::getMeanMs); break;
+            default: order = Comparator.comparingDouble(QueryStat::getTotalMs);
+        }
+        return stats.values().stream().sorted(order.reversed()).limit(limit).toList();
+    }
+
+    /**
+     * Recent slow statements, newest first.
+     */
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            List<SlowQuery> recent = new ArrayList<>(slowQueries);
+            Collections.reverse(recent);
+            return recent;
+        }
+    }
+
+    public long getSlowThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public void reset() {
+        stats.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    static String normalize(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?...)");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
+    }
+
+    private String cachedNormalize(String sql) {
+        String normalized = normalizedCache.get(sql);
+        if (normalized == null) {
+            if (normalizedCache.size() >= MAX_NORMALIZED_CACHE) {
+                normalizedCache.clear();
+            }
+            normalized = normalize(sql);
+            normalizedCache.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    private String currentOrigin() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return origin(((ServletRequestAttributes) attributes).getRequest());
+        }
+        return "thread:" + Thread.currentThread().getName().replaceAll("-?\\d+$", "");
+    }
+
+    /**
+     * The controller method handling {@code request}, e.g. "OrderController#getOrderById",
+     * or its method and path with ids collapsed if no handler has been mapped yet.
+     */
+    public static String origin(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        // Before handler mapping, e.g. the JWT filter loading the user
+        return request.getMethod() + " " + request.getRequestURI().replaceAll("/\\d+", "/{id}");
+    }
+
+    public static class QueryStat {
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final ConcurrentHashMap<String, LongAdder> origins = new ConcurrentHashMap<>();
+
+        QueryStat(String sql) {
+            this.sql = sql;
+        }
+
+        void add(long nanos, String origin) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            LongAdder originCount = origins.get(origin);
+            if (originCount == null) {
+                originCount = origins.computeIfAbsent(origins.size() < MAX_ORIGINS_PER_QUERY ? origin : OTHER, o -> new LongAdder());
+            }
+            originCount.increment();
+        }
+
+        public String getSql() { return sql; }
+
+        public long getCount() { return count.sum(); }
+
+        public double getTotalMs() { return totalNanos.sum() / 1_000_000.0; }
+
+        public double getMeanMs() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / n;
+        }
+
+        public double getMaxMs() { return maxNanos.get() / 1_000_000.0; }
+
+        public Map<String, Long> getOrigins() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            origins.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue(Comparator.comparingLong(LongAdder::sum)).reversed())
+                    .forEach(e -> result.put(e.getKey(), e.getValue().sum()));
+            return result;
+        }
+    }
+
+    public record SlowQuery(String sql, long durationMs, String origin, LocalDateTime at) {}
+}
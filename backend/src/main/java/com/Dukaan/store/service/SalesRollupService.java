@@ -0,0 +1,154 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.OrderEvent;
+import com.Dukaan.store.model.DailySalesRollup;
+import com.Dukaan.store.repository.DailySalesRollupRepository;
+import com.Dukaan.store.repository.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Maintains the daily_sales_rollup table. Committed checkouts add to the
+ * order's day, committed cancellations subtract from it, so sales reports
+ * read a handful of pre-aggregated rows instead of scanning every order.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupService.class);
+
+    @Autowired
+    private DailySalesRollupRepository rollupRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final TransactionTemplate newTransaction;
+    private final ExecutorService rebuildExecutor;
+
+    public SalesRollupService(PlatformTransactionManager transactionManager,
+                              @Value("${store.rollup.rebuild-threads:4}") int rebuildThreads) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildExecutor = Executors.newFixedThreadPool(rebuildThreads);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() == OrderEvent.Type.STATUS_CHANGED || event.getOrderCreatedAt() == null) {
+            return;
+        }
+        int sign = event.getType() == OrderEvent.Type.CANCELLED ? -1 : 1;
+        LocalDate day = event.getOrderCreatedAt().toLocalDate();
+
+        // Merge lines for the same product so each rollup row is touched once
+        Map<Long, double[]> byProduct = new HashMap<>();
+        for (OrderEvent.Line line : event.getLines()) {
+            double[] totals = byProduct.computeIfAbsent(line.productId(), id -> new double[2]);
+            totals[0] += line.quantity();
+            totals[1] += line.quantity() * line.unitPrice();
+        }
+        try {
+            byProduct.forEach((productId, totals) ->
+                    add(day, productId, sign * (long) totals[0], sign * totals[1]));
+        } catch (RuntimeException e) {
+            // The order itself is committed; a rebuild of that day repairs the rollup
+            logger.error("Failed to update sales rollup for order {} on {}", event.getOrderId(), day, e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySalesRollup> getDailySales(LocalDate from, LocalDate to, Long productId) {
+        if (productId != null) {
+            return rollupRepository.findByProductIdAndDayBetweenOrderByDayAsc(productId, from, to);
+        }
+        return rollupRepository.findByDayBetweenOrderByDayAscRevenueDesc(from, to);
+    }
+
+    /**
+     * Recompute the rollups for [from, to] from order history, one day per task,
+     * in parallel. Each day is replaced in its own transaction; checkouts landing
+     * on a day while it is being rebuilt may need another rebuild of that day.
+     */
+    public Map<String, Object> rebuild(LocalDate from, LocalDate to) throws Exception {
+        if (from == null) {
+            LocalDateTime earliest = orderRepository.findEarliestCreatedAt();
+            from = earliest != null ? earliest.toLocalDate() : LocalDate.now();
+        }
+        if (to == null) {
+            to = LocalDate.now();
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+
+        long started = System.currentTimeMillis();
+        List<Future<Integer>> tasks = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate current = day;
+            tasks.add(rebuildExecutor.submit(() -> newTransaction.execute(status -> rebuildDay(current))));
+        }
+        int rows = 0;
+        for (Future<Integer> task : tasks) {
+            rows += task.get();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("from", from.toString());
+        result.put("to", to.toString());
+        result.put("days", tasks.size());
+        result.put("rows", rows);
+        result.put("elapsedMs", System.currentTimeMillis() - started);
+        return result;
+    }
+
+    private int rebuildDay(LocalDate day) {
+        rollupRepository.deleteByDay(day);
+        List<Object[]> sums = orderRepository.sumSalesByProduct(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        List<DailySalesRollup> rows = new ArrayList<>(sums.size());
+        for (Object[] sum : sums) {
+            rows.add(new DailySalesRollup(day, (Long) sum[0], ((Number) sum[1]).longValue(), ((Number) sum[2]).doubleValue()));
+        }
+        rollupRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private void add(LocalDate day, Long productId, long units, double revenue) {
+        try {
+            newTransaction.executeWithoutResult(status -> upsert(day, productId, units, revenue));
+        } catch (DataIntegrityViolationException e) {
+            // Another checkout inserted the row first; it exists now, so increment it
+            newTransaction.executeWithoutResult(status -> upsert(day, productId, units, revenue));
+        }
+    }
+
+    private void upsert(LocalDate day, Long productId, long units, double revenue) {
+        if (rollupRepository.increment(day, productId, units, revenue) == 0) {
+            rollupRepository.saveAndFlush(new DailySalesRollup(day, productId, units, revenue));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdown();
+    }
+}
@@ -0,0 +1,17 @@
+package com.Dukaan.store.service;
+
+/**
+ * LIKE patterns for the repository search queries, which declare {@code escape '!'}.
+ */
+final class SearchPatterns {
+
+    private SearchPatterns() {}
+
+    /**
+     * Lower-cased pattern matching {@code term} anywhere, with LIKE wildcards in it taken literally.
+     */
+    static String containing(String term) {
+        return "%" + term.trim().toLowerCase()
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
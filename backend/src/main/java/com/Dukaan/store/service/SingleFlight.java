@@ -0,0 +1,151 @@
+package com.Dukaan.store.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller (the leader) runs the
+ * loader, callers arriving while it is in flight wait for its result instead of
+ * running their own. Followers wait at most {@code maxWaitMillis} and then load on
+ * their own, so a stuck leader cannot stall everyone behind it. A leader's failure is
+ * rethrown to its followers. Results are not cached: once a load completes, the next
+ * caller starts a new one.
+ */
+public class SingleFlight<V> {
+
+    private static final class Flight<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        final AtomicInteger followers = new AtomicInteger();
+    }
+
+    private static final class KeyStats {
+        final LongAdder loads = new LongAdder();
+        final LongAdder shared = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final AtomicLong maxFollowers = new AtomicLong();
+    }
+
+    private static final String OTHER_KEYS = "(other)";
+
+    private final String name;
+    private final long maxWaitNanos;
+    private final int maxTrackedKeys;
+    private final Map<String, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, KeyStats> stats = new ConcurrentHashMap<>();
+
+    public SingleFlight(String name, long maxWaitMillis, int maxTrackedKeys) {
+        this.name = name;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public V execute(String key, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            return lead(key, flight, loader);
+        }
+
+        leader.followers.incrementAndGet();
+        KeyStats keyStats = stats(key);
+        keyStats.shared.increment();
+        try {
+            return leader.result.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            keyStats.timeouts.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Shared load failed for " + name + " key " + key, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + name + " key " + key, e);
+        }
+    }
+
+    private V lead(String key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+            KeyStats keyStats = stats(key);
+            keyStats.loads.increment();
+            keyStats.maxFollowers.accumulateAndGet(flight.followers.get(), Math::max);
+        }
+    }
+
+    private KeyStats stats(String key) {
+        KeyStats keyStats = stats.get(key);
+        if (keyStats != null) {
+            return keyStats;
+        }
+        // Past the cap, new keys share one bucket so arbitrary search terms cannot grow the map
+        return stats.computeIfAbsent(stats.size() < maxTrackedKeys ? key : OTHER_KEYS, k -> new KeyStats());
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Totals plus the {@code topKeys} keys that shared the most loads.
+     */
+    public Map<String, Object> toMap(int topKeys) {
+        long loads = 0, shared = 0, timeouts = 0;
+        List<Map.Entry<String, KeyStats>> entries = new ArrayList<>(stats.entrySet());
+        for (Map.Entry<String, KeyStats> entry : entries) {
+            loads += entry.getValue().loads.sum();
+            shared += entry.getValue().shared.sum();
+            timeouts += entry.getValue().timeouts.sum();
+        }
+        entries.sort(Comparator.comparingLong((Map.Entry<String, KeyStats> e) -> e.getValue().shared.sum()).reversed());
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("inFlight", inFlight.size());
+        map.put("loads", loads);
+        map.put("shared", shared);
+        map.put("waitTimeouts", timeouts);
+        // Share of requests answered by another request's load
+        map.put("coalescedRatio", loads + shared == 0 ? 0.0 : (double) shared / (loads + shared));
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (Map.Entry<String, KeyStats> entry : entries.subList(0, Math.min(topKeys, entries.size()))) {
+            KeyStats keyStats = entry.getValue();
+            Map<String, Object> key = new LinkedHashMap<>();
+            key.put("key", entry.getKey());
+            key.put("loads", keyStats.loads.sum());
+            key.put("shared", keyStats.shared.sum());
+            key.put("waitTimeouts", keyStats.timeouts.sum());
+            key.put("maxFollowers", keyStats.maxFollowers.get());
+            keys.add(key);
+        }
+        map.put("topKeys", keys);
+        return map;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+}
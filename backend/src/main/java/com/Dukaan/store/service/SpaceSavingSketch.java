@@ -0,0 +1,138 @@
+package com.Dukaan.store.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitters summary with a fixed number of counters.
+ * Any key whose true weight exceeds total/capacity is guaranteed to be tracked,
+ * and each reported count overestimates the true count by at most its error.
+ * Counters sit in an indexed min-heap, so an update costs a hash lookup plus
+ * at most log2(capacity) swaps. Not thread-safe.
+ */
+public class SpaceSavingSketch<K> {
+
+    public static final class Counter<K> {
+        private K key;
+        private long count;
+        private long error;
+        private int heapIndex;
+
+        public K getKey() { return key; }
+
+        public long getCount() { return count; }
+
+        public long getError() { return error; }
+    }
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters;
+    private final Counter<K>[] heap;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public void offer(K key, long weight) {
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.heapIndex);
+            return;
+        }
+        if (size < capacity) {
+            counter = new Counter<>();
+            counter.key = key;
+            counter.count = weight;
+            counter.heapIndex = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.heapIndex);
+            return;
+        }
+        // Replace the smallest counter; its count becomes the newcomer's error bound
+        counter = heap[0];
+        counters.remove(counter.key);
+        counter.key = key;
+        counter.error = counter.count;
+        counter.count += weight;
+        counters.put(key, counter);
+        siftDown(0);
+    }
+
+    /**
+     * Take back weight offered earlier, e.g. for a cancelled sale. A key that has since been
+     * evicted is ignored: its weight was already folded into another counter's error.
+     */
+    public void subtract(K key, long weight) {
+        Counter<K> counter = counters.get(key);
+        if (counter == null) {
+            return;
+        }
+        counter.count = Math.max(0, counter.count - weight);
+        counter.error = Math.min(counter.error, counter.count);
+        siftUp(counter.heapIndex);
+    }
+
+    public boolean contains(K key) {
+        return counters.containsKey(key);
+    }
+
+    public List<Counter<K>> counters() {
+        return new ArrayList<>(Arrays.asList(heap).subList(0, size));
+    }
+
+    public List<Counter<K>> top(int limit) {
+        List<Counter<K>> all = counters();
+        all.sort(Comparator.comparingLong((Counter<K> c) -> c.count).reversed());
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void siftUp(int index) {
+        Counter<K> counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter<K> counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter<K> counter, int index) {
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+}
@@ -1,10 +1,21 @@
 package com.Dukaan.store.service;
 
-public class StripePaymentService implements PaymentService {
-    @Override
-    public void processPayment(double amount) {
-        // Logic to process payment using Stripe
-        System.out.println("Stripe");
-        System.out.println("Processing payment of amount: " + amount);
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StripePaymentService extends AbstractPaymentService {
+
+    public StripePaymentService(
+            CircuitBreakerFactory circuitBreakerFactory,
+            @Value("${store.payment.stripe.max-concurrency:32}") int maxConcurrency,
+            @Value("${store.payment.stripe.queue-capacity:256}") int queueCapacity,
+            @Value("${store.payment.stripe.timeout-ms:3000}") long timeoutMs,
+            @Value("${store.payment.stripe.fake-latency-ms:200}") long fakeLatencyMs,
+            @Value("${store.payment.stripe.fake-decline-rate:0.0}") double fakeDeclineRate,
+            @Value("${store.payment.stripe.fake-failure-rate:0.0}") double fakeFailureRate) {
+        // Logic to process payment using Stripe; the local fake gateway stands in for the Stripe API
+        super("stripe", new FakePaymentGateway(fakeLatencyMs, fakeDeclineRate, fakeFailureRate),
+                circuitBreakerFactory.create("stripe"), maxConcurrency, queueCapacity, timeoutMs);
     }
 }
@@ -0,0 +1,226 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.OrderEvent;
+import com.Dukaan.store.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Live best-sellers over a sliding window, fed from committed checkouts.
+ * The window is a ring of time buckets, each holding a bounded Space-Saving
+ * sketch of units sold per product, so memory stays at buckets x capacity
+ * counters no matter how many products sell. Sales count in the bucket of the
+ * order's checkout time, and cancellations take them back out of it. The ring
+ * is re-seeded from the database on startup and periodically, which also folds
+ * in sales taken by other instances; events arriving while the seed query runs
+ * are replayed onto the new ring so none are lost.
+ */
+@Service
+public class TopSellerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopSellerService.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int capacity;
+
+    private Window window;
+    // Events seen while a reseed query is running; null otherwise
+    private List<OrderEvent> pending;
+
+    public TopSellerService(@Value("${store.topsellers.bucket-minutes:5}") long bucketMinutes,
+                            @Value("${store.topsellers.buckets:12}") int bucketCount,
+                            @Value("${store.topsellers.capacity:1000}") int capacity) {
+        this.bucketMillis = bucketMinutes * 60 * 1000;
+        this.bucketCount = bucketCount;
+        this.capacity = capacity;
+        this.window = new Window();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (event.getType() == OrderEvent.Type.STATUS_CHANGED) {
+            return;
+        }
+        synchronized (this) {
+            apply(window, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        }
+    }
+
+    /**
+     * Top products by units sold in the last {@code windowMinutes}, rounded up to whole buckets.
+     */
+    public synchronized List<Map<String, Object>> getTopSellers(int limit, long windowMinutes) {
+        int buckets = (int) Math.max(1, Math.min(bucketCount, (windowMinutes * 60 * 1000 + bucketMillis - 1) / bucketMillis));
+        return window.top(limit, buckets, System.currentTimeMillis());
+    }
+
+    public long getMaxWindowMinutes() {
+        return bucketCount * bucketMillis / 60000;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${store.topsellers.reseed-ms:300000}", initialDelayString = "${store.topsellers.reseed-ms:300000}")
+    // Not read-only, so the query runs on the primary: a lagging replica would miss orders
+    // committed before beginReseed(), whose events are not in the replay either
+    @Transactional
+    public void reseed() {
+        long now = System.currentTimeMillis();
+        long since = (now / bucketMillis - bucketCount + 1) * bucketMillis;
+        LocalDateTime sinceTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneId.systemDefault());
+
+        beginReseed();
+        List<Object[]> rows;
+        try {
+            rows = orderRepository.findSalesSince(sinceTime);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        int replayed = finishReseed(rows);
+        logger.info("Re-seeded top sellers from {} order lines, replayed {} events", rows.size(), replayed);
+    }
+
+    synchronized void beginReseed() {
+        pending = new ArrayList<>();
+    }
+
+    /**
+     * Build a new ring from the seed rows and swap it in, after replaying the events that
+     * arrived since {@link #beginReseed()}. An event may already be in the rows (committed
+     * before the query) or not (committed after it), so replay goes by order id: a sale is
+     * added only if its order was not seeded, and a cancellation is subtracted only if its
+     * order's sale is in the new ring.
+     */
+    synchronized int finishReseed(List<Object[]> rows) {
+        Window fresh = new Window();
+        Set<Long> counted = new HashSet<>();
+        for (Object[] row : rows) {
+            counted.add((Long) row[0]);
+            fresh.record((Long) row[1], (String) row[2], ((Number) row[4]).longValue(), epochMillis((LocalDateTime) row[3]));
+        }
+        List<OrderEvent> events = pending != null ? pending : List.of();
+        for (OrderEvent event : events) {
+            boolean placed = event.getType() == OrderEvent.Type.PLACED;
+            if (placed ? counted.add(event.getOrderId()) : counted.remove(event.getOrderId())) {
+                apply(fresh, event);
+            }
+        }
+        pending = null;
+        window = fresh;
+        return events.size();
+    }
+
+    private void apply(Window target, OrderEvent event) {
+        long at = event.getOrderCreatedAt() != null ? epochMillis(event.getOrderCreatedAt()) : System.currentTimeMillis();
+        boolean cancelled = event.getType() == OrderEvent.Type.CANCELLED;
+        for (OrderEvent.Line line : event.getLines()) {
+            if (cancelled) {
+                target.subtract(line.productId(), line.quantity(), at);
+            } else {
+                target.record(line.productId(), line.productName(), line.quantity(), at);
+            }
+        }
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private final class Window {
+        private final long[] epochs = new long[bucketCount];
+        private final List<SpaceSavingSketch<Long>> sketches = new ArrayList<>(bucketCount);
+        private final Map<Long, String> names = new HashMap<>();
+
+        Window() {
+            for (int i = 0; i < bucketCount; i++) {
+                sketches.add(new SpaceSavingSketch<>(capacity));
+                epochs[i] = -1;
+            }
+        }
+
+        void record(Long productId, String name, long units, long at) {
+            long epoch = at / bucketMillis;
+            int slot = (int) (epoch % bucketCount);
+            if (epochs[slot] != epoch) {
+                if (epochs[slot] > epoch) {
+                    return; // older than the window
+                }
+                epochs[slot] = epoch;
+                sketches.set(slot, new SpaceSavingSketch<>(capacity));
+            }
+            sketches.get(slot).offer(productId, units);
+            if (name != null) {
+                names.put(productId, name);
+            }
+            // Twice the most keys the sketches can hold, so the sweep runs rarely
+            if (names.size() > 2 * capacity * bucketCount) {
+                names.keySet().removeIf(key -> sketches.stream().noneMatch(sketch -> sketch.contains(key)));
+            }
+        }
+
+        void subtract(Long productId, long units, long at) {
+            long epoch = at / bucketMillis;
+            int slot = (int) (epoch % bucketCount);
+            if (epochs[slot] == epoch) {
+                sketches.get(slot).subtract(productId, units);
+            }
+        }
+
+        List<Map<String, Object>> top(int limit, int buckets, long now) {
+            long currentEpoch = now / bucketMillis;
+            Map<Long, long[]> merged = new HashMap<>();
+            for (int i = 0; i < bucketCount; i++) {
+                if (epochs[i] < 0 || epochs[i] <= currentEpoch - buckets || epochs[i] > currentEpoch) {
+                    continue;
+                }
+                for (SpaceSavingSketch.Counter<Long> counter : sketches.get(i).counters()) {
+                    long[] totals = merged.computeIfAbsent(counter.getKey(), k -> new long[2]);
+                    totals[0] += counter.getCount();
+                    totals[1] += counter.getError();
+                }
+            }
+            return merged.entrySet().stream()
+                    .filter(e -> e.getValue()[0] > 0)
+                    .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+                    .limit(limit)
+                    .map(e -> {
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("productId", e.getKey());
+                        row.put("name", names.get(e.getKey()));
+                        row.put("units", e.getValue()[0]);
+                        row.put("maxOverestimate", e.getValue()[1]);
+                        return row;
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+}
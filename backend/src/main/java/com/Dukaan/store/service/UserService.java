@@ -6,60 +6,84 @@ import com.Dukaan.store.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private OrderSummaryService summaryService;
+    @Autowired
+    private CountCache countCache;
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id).orElse(null);
     }
 
     public User createUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        countCache.invalidate(CountCache.USERS);
+        return saved;
     }
 
+    @Transactional
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Order lists show the email as it is now, not as it was at checkout
+        summaryService.userEmailChanged(saved.getId(), saved.getEmail());
+        // Search counts match on name and email
+        countCache.invalidate(CountCache.USERS);
+        return saved;
     }
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        countCache.invalidate(CountCache.USERS);
     }
 
+    @Transactional(readOnly = true)
     public User findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    /**
+     * One page of users whose name or email contains {@code search} (case-insensitive),
+     * or of all users when it is blank. Filtering and paging run in the database; the
+     * total comes from {@link CountCache}.
+     */
+    @Transactional(readOnly = true)
     public Page<User> getUsersPaginated(String search, Pageable pageable) {
-        // For this implementation, we'll use basic pagination
-        // In a real implementation, you would create custom repository methods with @Query annotations
-        Page<User> users = userRepository.findAll(pageable);
-        
-        // Apply search filter (simplified implementation)
-        // In production, this should be done at the database level for better performance
-        if (search != null && !search.trim().isEmpty()) {
-            List<User> filteredUsers = users.getContent().stream()
-                    .filter(user -> 
-                        user.getName().toLowerCase().contains(search.toLowerCase()) ||
-                        user.getEmail().toLowerCase().contains(search.toLowerCase())
-                    )
-                    .collect(Collectors.toList());
-            
-            // Note: This is a simplified approach. In a real implementation,
-            // you would use custom repository methods with proper pagination
+        if (isBlank(search)) {
+            return countCache.page(userRepository.findAllBy(pageable), CountCache.USERS, "", userRepository::count);
         }
-        
-        return users;
+        String pattern = SearchPatterns.containing(search);
+        return countCache.page(userRepository.searchByNameOrEmail(pattern, pageable), CountCache.USERS, pattern,
+                () -> userRepository.countByNameOrEmail(pattern));
+    }
+
+    /**
+     * Same rows as {@link #getUsersPaginated}, without a total.
+     */
+    @Transactional(readOnly = true)
+    public Slice<User> getUsersSlice(String search, Pageable pageable) {
+        return isBlank(search)
+                ? userRepository.findAllBy(pageable)
+                : userRepository.searchByNameOrEmail(SearchPatterns.containing(search), pageable);
+    }
+
+    private static boolean isBlank(String search) {
+        return search == null || search.trim().isEmpty();
     }
 
     // DTO <-> Entity mapping
@@ -0,0 +1,53 @@
+package com.Dukaan.store.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Trigram indexes for the admin user search. A B-tree cannot serve
+ * {@code lower(name) LIKE '%term%'}; a pg_trgm GIN index over the same expression can,
+ * so the search stays an index lookup however many accounts there are. PostgreSQL only;
+ * elsewhere, or without permission to create the extension, the same query scans.
+ */
+@Service
+public class UserTrigramIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTrigramIndex.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${store.search.user-trigram.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void createIndexes() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                return;
+            }
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            // Expressions match UserRepository.searchByNameOrEmail exactly, or the planner will not use them
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_name_trgm ON \"user\" USING GIN (lower(name) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_email_trgm ON \"user\" USING GIN (lower(email) gin_trgm_ops)");
+            logger.info("Trigram indexes for user search ready");
+        } catch (DataAccessException e) {
+            logger.warn("Could not create trigram indexes, user search will scan the user table", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.Dukaan.store.web;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the hot catalog listings from {@link CatalogResponseCache}, compressing
+ * each distinct response once per catalog version instead of once per request.
+ * Runs after the security filter chain, so only authenticated requests reach it.
+ * All other responses are left to the container's own gzip compression.
+ */
+@Component
+public class CatalogCompressionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCompressionFilter.class);
+
+    private static final Set<String> CATALOG_PATHS = Set.of("/api/products", "/api/products/paginated");
+
+    @Autowired
+    private CatalogResponseCache cache;
+
+    @Value("${store.compression.catalog-min-size:1024}")
+    private int minSize;
+
+    @Value("${store.compression.brotli-enabled:true}")
+    private boolean brotliEnabled;
+
+    private boolean brotliAvailable;
+
+    @Override
+    protected void initFilterBean() {
+        if (brotliEnabled) {
+            try {
+                Brotli4jLoader.ensureAvailability();
+                brotliAvailable = true;
+            } catch (Throwable e) {
+                logger.warn("Brotli not available, falling back to gzip: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !CATALOG_PATHS.contains(request.getRequestURI());
+    }
+
+    /**
+     * Only JSON listings are cached; CBOR and Smile requests go straight to the controller.
+     */
+    private boolean acceptsBinary(String accept) {
+        return accept != null && (accept.contains("application/cbor") || accept.contains("application/x-jackson-smile"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // The same URL serves JSON, CBOR or Smile, so every catalog response varies by Accept
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null || acceptsBinary(request.getHeader(HttpHeaders.ACCEPT))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long version = cache.currentVersion();
+        String key = cache.key(version, request.getRequestURI(), request.getQueryString(), encoding);
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            writeCompressed(response, cached, encoding);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || body.length < minSize
+                || !MediaType.APPLICATION_JSON_VALUE.equals(baseType(wrapper.getContentType()))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] compressed = compress(body, encoding);
+        cache.put(version, key, compressed);
+        wrapper.resetBuffer();
+        writeCompressed(response, compressed, encoding);
+    }
+
+    private String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean br = false;
+        for (String token : acceptEncoding.toLowerCase().split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?")) {
+                continue;
+            }
+            gzip |= parts[0].equals("gzip");
+            br |= parts[0].equals("br");
+        }
+        if (br && brotliAvailable) {
+            return "br";
+        }
+        return gzip ? "gzip" : null;
+    }
+
+    private byte[] compress(byte[] body, String encoding) throws IOException {
+        if ("br".equals(encoding)) {
+            return Encoder.compress(body, new Encoder.Parameters().setQuality(5));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeCompressed(HttpServletResponse response, byte[] body, String encoding) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private String baseType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        return (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim();
+    }
+}
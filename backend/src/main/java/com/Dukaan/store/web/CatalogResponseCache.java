@@ -0,0 +1,61 @@
+package com.Dukaan.store.web;
+
+import com.Dukaan.store.event.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small LRU cache of already-compressed catalog responses.
+ * Entries are keyed by catalog version, request path, query string and
+ * content encoding, so a product write simply moves every reader to a
+ * new version and the old entries are dropped.
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, byte[]> entries;
+
+    public CatalogResponseCache(@Value("${store.compression.catalog-cache-size:64}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    public String key(long catalogVersion, String path, String query, String encoding) {
+        return catalogVersion + "|" + path + "?" + (query != null ? query : "") + "|" + encoding;
+    }
+
+    public synchronized byte[] get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Store a compressed body, unless the catalog changed while it was being rendered.
+     */
+    public synchronized void put(long catalogVersion, String key, byte[] body) {
+        if (catalogVersion == version.get()) {
+            entries.put(key, body);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        version.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+}
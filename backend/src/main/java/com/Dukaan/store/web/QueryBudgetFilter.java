@@ -0,0 +1,87 @@
+package com.Dukaan.store.web;
+
+import com.Dukaan.store.service.QueryBudgetService;
+import com.Dukaan.store.service.QueryCounter;
+import com.Dukaan.store.service.QueryStatsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request runs, from before the security chain (so the
+ * JWT user lookup is included) to the end of response serialization (so lazy loads made
+ * while writing the body are too), and checks them against {@link QueryBudgetService}.
+ * With {@code store.sql-budget.response-header=true} (dev profile and tests) the count is
+ * returned in an {@code X-SQL-Count} header; the body is buffered for that, since the
+ * header has to be set after serialization but before the response is committed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Count";
+
+    private static final String COUNTER_ATTRIBUTE = QueryBudgetFilter.class.getName() + ".counter";
+
+    @Autowired
+    private QueryBudgetService budgetService;
+
+    @Value("${store.sql-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${store.sql-budget.response-header:false}")
+    private boolean responseHeader;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    // Async requests (order payment) finish on a second dispatch, which must be counted too
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter counter = (QueryCounter) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            counter = new QueryCounter();
+            request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        }
+        ContentCachingResponseWrapper buffered = null;
+        if (responseHeader) {
+            // The async dispatch reuses the wrapper from the first one
+            buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (buffered == null) {
+                buffered = new ContentCachingResponseWrapper(response);
+            }
+        }
+        counter.resume();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            counter.close();
+            if (!isAsyncStarted(request)) {
+                budgetService.check(QueryStatsService.origin(request), counter);
+            }
+        }
+        if (buffered != null && !isAsyncStarted(request)) {
+            buffered.setHeader(HEADER, Integer.toString(counter.getStatements()));
+            buffered.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.Dukaan.store.web;
+
+import com.Dukaan.store.logging.SampledLoggingTurboFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tags each request with an id and a sampling value in the MDC before anything else
+ * (including the security chain) logs, and writes a one-line request summary at DEBUG.
+ * With the "perf" profile only sampled requests pass DEBUG, so the summary and the
+ * diagnostic logging around it appear together for the same requests. Only registered
+ * when {@code store.logging.request-sampling=true}, which the "perf" profile sets.
+ */
+@Component
+@ConditionalOnProperty(name = "store.logging.request-sampling", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestSamplingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestSamplingFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        MDC.put("requestId", UUID.randomUUID().toString().substring(0, 8));
+        MDC.put(SampledLoggingTurboFilter.SAMPLE_KEY, Double.toString(ThreadLocalRandom.current().nextDouble()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+            MDC.remove("requestId");
+            MDC.remove(SampledLoggingTurboFilter.SAMPLE_KEY);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.Dukaan.store.benchmark;
+
+import com.Dukaan.store.dto.ProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode time for a 10k-product catalog in each negotiated format.
+ * Payload sizes (raw and gzipped) are printed once per fork during setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogFormatBenchmark {
+
+	@Param({"json", "cbor", "smile"})
+	public String format;
+
+	@Param({"10000"})
+	public int size;
+
+	private ObjectMapper mapper;
+	private ObjectReader reader;
+	private List<ProductDTO> catalog;
+	private byte[] payload;
+
+	@Setup
+	public void setUp() throws IOException {
+		mapper = switch (format) {
+			case "cbor" -> new CBORMapper();
+			case "smile" -> new SmileMapper();
+			default -> new ObjectMapper();
+		};
+		mapper.registerModule(new BlackbirdModule());
+		reader = mapper.readerForListOf(ProductDTO.class);
+
+		catalog = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			catalog.add(new ProductDTO("Product " + i, "Description of product number " + i + " in the catalog",
+					10 + i * 0.25, i % 100));
+		}
+		payload = mapper.writeValueAsBytes(catalog);
+
+		ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+			gzip.write(payload);
+		}
+		System.out.printf("%n%s payload for %d products: %d bytes, %d bytes gzipped%n",
+				format, size, payload.length, gzipped.size());
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		return mapper.writeValueAsBytes(catalog);
+	}
+
+	@Benchmark
+	public List<ProductDTO> decode() throws IOException {
+		return reader.readValue(payload);
+	}
+}
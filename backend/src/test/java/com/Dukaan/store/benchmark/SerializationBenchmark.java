@@ -0,0 +1,147 @@
+package com.Dukaan.store.benchmark;
+
+import com.Dukaan.store.dto.ProductDTO;
+import com.Dukaan.store.dto.ProductPageResponse;
+import com.Dukaan.store.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the old and new ways of writing product responses: reflective vs Blackbird
+ * accessors, HashMap vs record page envelopes, and a materialized DTO list vs a lazily
+ * mapped stream. Output goes to a counting sink, so the "bytes" counter gives bytes/sec;
+ * run with {@code -prof gc} (the default in the benchmark profile) for allocations per response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+	@Param({"reflective", "blackbird"})
+	public String accessors;
+
+	@Param({"20", "500"})
+	public int size;
+
+	private ObjectMapper mapper;
+	private List<Product> products;
+	private PageImpl<Product> page;
+
+	@Setup
+	public void setUp() {
+		JsonMapper.Builder builder = JsonMapper.builder()
+				.addModule(new Jdk8Module())
+				.addModule(new JavaTimeModule());
+		if ("blackbird".equals(accessors)) {
+			builder.addModule(new BlackbirdModule());
+		}
+		mapper = builder.build();
+
+		products = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			products.add(new Product("Product " + i, "Description of product number " + i + " in the catalog",
+					10 + i * 0.25, i % 100));
+		}
+		page = new PageImpl<>(products, PageRequest.of(0, size), size * 10L);
+	}
+
+	@Benchmark
+	public void listAsMaterializedList(Output out) throws IOException {
+		List<ProductDTO> dtos = products.stream().map(SerializationBenchmark::toDTO).collect(Collectors.toList());
+		mapper.writeValue(out.sink, dtos);
+	}
+
+	@Benchmark
+	public void listAsStream(Output out) throws IOException {
+		mapper.writeValue(out.sink, products.stream().map(SerializationBenchmark::toDTO));
+	}
+
+	@Benchmark
+	public void pageAsHashMap(Output out) throws IOException {
+		List<ProductDTO> dtos = page.getContent().stream().map(SerializationBenchmark::toDTO).collect(Collectors.toList());
+		Map<String, Object> response = new HashMap<>();
+		response.put("products", dtos);
+		response.put("currentPage", page.getNumber());
+		response.put("totalItems", page.getTotalElements());
+		response.put("totalPages", page.getTotalPages());
+		response.put("hasNext", page.hasNext());
+		response.put("hasPrevious", page.hasPrevious());
+		mapper.writeValue(out.sink, response);
+	}
+
+	@Benchmark
+	public void pageAsRecord(Output out) throws IOException {
+		mapper.writeValue(out.sink, ProductPageResponse.of(page.map(SerializationBenchmark::toDTO)));
+	}
+
+	private static ProductDTO toDTO(Product product) {
+		ProductDTO dto = new ProductDTO();
+		dto.setName(product.getName());
+		dto.setDescription(product.getDescription());
+		dto.setPrice(product.getPrice());
+		dto.setStock(product.getStock());
+		return dto;
+	}
+
+	/**
+	 * Per-thread sink that discards output but counts it; JMH reports the count as bytes/sec.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Output {
+
+		public long bytes;
+
+		final OutputStream sink = new OutputStream() {
+			@Override
+			public void write(int b) {
+				bytes++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				bytes += len;
+			}
+
+			@Override
+			public void close() {
+				// writeValue closes the target; keep counting across invocations
+			}
+		};
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytes = 0;
+		}
+	}
+}
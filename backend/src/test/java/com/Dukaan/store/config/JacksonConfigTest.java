@@ -0,0 +1,75 @@
+package com.Dukaan.store.config;
+
+import com.Dukaan.store.dto.OrderDTO;
+import com.Dukaan.store.dto.OrderItemDTO;
+import com.Dukaan.store.dto.ProductDTO;
+import com.Dukaan.store.dto.ProductPageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JacksonConfigTest {
+
+	@Autowired
+	private HttpMessageConverters converters;
+
+	@Test
+	void jsonStaysFirstAndBinaryFormatsFollow() {
+		List<HttpMessageConverter<?>> list = converters.getConverters();
+		int json = indexOf(list, MappingJackson2HttpMessageConverter.class);
+		int smile = indexOf(list, MappingJackson2SmileHttpMessageConverter.class);
+		int cbor = indexOf(list, MappingJackson2CborHttpMessageConverter.class);
+		assertTrue(json >= 0 && smile > json && cbor > json, "converter order: " + list);
+	}
+
+	@Test
+	void binaryFormatsRoundTripDtosAndRecords() throws Exception {
+		OrderItemDTO item = new OrderItemDTO();
+		item.setProduct(new ProductDTO("Kettle", "A two litre electric kettle", 24.5, 3));
+		item.setQuantity(2);
+		item.setPrice(24.5);
+		OrderDTO order = new OrderDTO();
+		order.setItems(List.of(item));
+		order.setTotal(49.0);
+		ProductPageResponse page = new ProductPageResponse(List.of(item.getProduct()), 0, 1L, 1, false, false);
+
+		for (Class<?> type : List.of(MappingJackson2CborHttpMessageConverter.class, MappingJackson2SmileHttpMessageConverter.class)) {
+			ObjectMapper mapper = mapperOf(type);
+			OrderDTO decodedOrder = mapper.readValue(mapper.writeValueAsBytes(order), OrderDTO.class);
+			assertEquals(49.0, decodedOrder.getTotal(), 1e-9);
+			assertEquals("Kettle", decodedOrder.getItems().get(0).getProduct().getName());
+
+			ProductPageResponse decodedPage = mapper.readValue(mapper.writeValueAsBytes(page), ProductPageResponse.class);
+			assertEquals(1, decodedPage.totalItems());
+			assertEquals("Kettle", decodedPage.products().get(0).getName());
+		}
+	}
+
+	private ObjectMapper mapperOf(Class<?> type) {
+		List<HttpMessageConverter<?>> list = converters.getConverters();
+		return ((AbstractJackson2HttpMessageConverter) list.get(indexOf(list, type))).getObjectMapper();
+	}
+
+	private int indexOf(List<HttpMessageConverter<?>> list, Class<?> type) {
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i).getClass() == type) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,73 @@
+package com.Dukaan.store.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void routesReadOnlyTransactionsToReplica() {
+		JdbcTemplate jdbc = new JdbcTemplate(routing("rw1", 0));
+		TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+
+		assertEquals("primary", tx.execute(status -> whichNode(jdbc)));
+
+		tx.setReadOnly(true);
+		assertEquals("replica", tx.execute(status -> whichNode(jdbc)));
+	}
+
+	@Test
+	void readYourWritesKeepsRecentWritersOnPrimary() {
+		JdbcTemplate jdbc = new JdbcTemplate(routing("rw2", 60_000));
+		TransactionTemplate writeTx = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+		TransactionTemplate readTx = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+		readTx.setReadOnly(true);
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"john@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+		assertEquals("replica", readTx.execute(status -> whichNode(jdbc)));
+
+		writeTx.execute(status -> whichNode(jdbc));
+		assertEquals("primary", readTx.execute(status -> whichNode(jdbc)));
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"jane@example.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+		assertEquals("replica", readTx.execute(status -> whichNode(jdbc)));
+	}
+
+	private DataSource routing(String name, long readYourWritesMillis) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+				node(name + "_primary", "primary"), node(name + "_replica", "replica"), readYourWritesMillis);
+		routing.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routing);
+	}
+
+	private DataSource node(String database, String label) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE node (label VARCHAR(16))");
+		jdbc.update("INSERT INTO node VALUES (?)", label);
+		return dataSource;
+	}
+
+	private String whichNode(JdbcTemplate jdbc) {
+		return jdbc.queryForObject("SELECT label FROM node", String.class);
+	}
+}
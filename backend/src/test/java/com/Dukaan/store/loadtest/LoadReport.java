@@ -0,0 +1,185 @@
+package com.Dukaan.store.loadtest;
+
+import com.Dukaan.store.loadtest.TrafficMix.Operation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Per-endpoint response times and error counts for one measured run. Latencies are
+ * recorded in microseconds into HdrHistograms and measured from each request's
+ * scheduled start, so time spent queued behind a slow server counts against it.
+ * Reports are saved as JSON (plus one .hgrm percentile file per endpoint for plotting)
+ * and compared against the previous report in the same directory.
+ */
+public class LoadReport {
+
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+	private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private static final class Stats {
+		final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+		final LongAdder errors = new LongAdder();
+		final LongAdder skipped = new LongAdder();
+	}
+
+	private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+	private volatile long startNanos;
+	private volatile long endNanos;
+
+	public LoadReport() {
+		for (Operation operation : Operation.values()) {
+			stats.put(operation, new Stats());
+		}
+	}
+
+	public void start() {
+		for (Stats s : stats.values()) {
+			s.histogram.reset();
+			s.errors.reset();
+			s.skipped.reset();
+		}
+		startNanos = System.nanoTime();
+	}
+
+	public void stop() {
+		endNanos = System.nanoTime();
+	}
+
+	public void record(Operation operation, long latencyNanos, boolean success) {
+		Stats s = stats.get(operation);
+		s.histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, latencyNanos / 1_000)));
+		if (!success) {
+			s.errors.increment();
+		}
+	}
+
+	/**
+	 * A scheduled request that could not be sent, e.g. a cancel with no order left to cancel.
+	 */
+	public void skipped(Operation operation) {
+		stats.get(operation).skipped.increment();
+	}
+
+	public Map<String, Object> summary(LoadTestConfig config) {
+		double seconds = (endNanos - startNanos) / 1e9;
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", LocalDateTime.now().toString());
+		report.put("config", config.toMap());
+		report.put("measuredSeconds", seconds);
+		Map<String, Object> endpoints = new LinkedHashMap<>();
+		Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+		long totalErrors = 0, totalSkipped = 0;
+		for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+			Stats s = entry.getValue();
+			if (s.histogram.getTotalCount() == 0 && s.skipped.sum() == 0) {
+				continue;
+			}
+			Histogram snapshot = s.histogram.copy();
+			total.add(snapshot);
+			totalErrors += s.errors.sum();
+			totalSkipped += s.skipped.sum();
+			endpoints.put(entry.getKey().endpoint(), toMap(snapshot, s.errors.sum(), s.skipped.sum(), seconds));
+		}
+		report.put("endpoints", endpoints);
+		report.put("total", toMap(total, totalErrors, totalSkipped, seconds));
+		return report;
+	}
+
+	private static Map<String, Object> toMap(Histogram histogram, long errors, long skipped, double seconds) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		long requests = histogram.getTotalCount();
+		map.put("requests", requests);
+		map.put("errors", errors);
+		map.put("skipped", skipped);
+		// Successful responses per second
+		map.put("throughput", seconds > 0 ? (requests - errors) / seconds : 0);
+		map.put("meanMs", histogram.getMean() / 1_000);
+		map.put("p50Ms", histogram.getValueAtPercentile(50) / 1_000.0);
+		map.put("p99Ms", histogram.getValueAtPercentile(99) / 1_000.0);
+		map.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1_000.0);
+		map.put("maxMs", histogram.getMaxValue() / 1_000.0);
+		return map;
+	}
+
+	/**
+	 * Write {@code <timestamp>.json} and {@code <timestamp>/<operation>.hgrm} into {@code dir}.
+	 */
+	public Path save(Path dir, Map<String, Object> summary) throws IOException {
+		Files.createDirectories(dir);
+		String name = LocalDateTime.now().format(FILE_NAME);
+		Path json = dir.resolve(name + ".json");
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), summary);
+		Path histograms = Files.createDirectories(dir.resolve(name));
+		for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+			if (entry.getValue().histogram.getTotalCount() == 0) {
+				continue;
+			}
+			try (PrintStream out = new PrintStream(histograms.resolve(entry.getKey().key + ".hgrm").toFile())) {
+				// Values are microseconds; the scaling ratio prints them as milliseconds
+				entry.getValue().histogram.outputPercentileDistribution(out, 1_000.0);
+			}
+		}
+		return json;
+	}
+
+	/**
+	 * The most recent report in {@code dir}, or null if there is none.
+	 */
+	public static Path latestReport(Path dir) throws IOException {
+		if (!Files.isDirectory(dir)) {
+			return null;
+		}
+		try (Stream<Path> files = Files.list(dir)) {
+			// Timestamped names sort chronologically
+			return files.filter(f -> f.getFileName().toString().endsWith(".json"))
+					.max(Path::compareTo)
+					.orElse(null);
+		}
+	}
+
+	/**
+	 * One line per endpoint present in both reports: throughput and p99 before and after.
+	 */
+	public static List<String> compare(JsonNode previous, Map<String, Object> current) {
+		JsonNode currentTree = new ObjectMapper().valueToTree(current);
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("%-32s %28s %28s", "endpoint", "throughput (req/s)", "p99 (ms)"));
+		List<String> names = new ArrayList<>();
+		currentTree.path("endpoints").fieldNames().forEachRemaining(names::add);
+		names.add("total");
+		for (String name : names) {
+			JsonNode before = "total".equals(name) ? previous.path("total") : previous.path("endpoints").path(name);
+			JsonNode after = "total".equals(name) ? currentTree.path("total") : currentTree.path("endpoints").path(name);
+			if (before.isMissingNode()) {
+				continue;
+			}
+			lines.add(String.format("%-32s %28s %28s", name,
+					change(before.path("throughput").asDouble(), after.path("throughput").asDouble()),
+					change(before.path("p99Ms").asDouble(), after.path("p99Ms").asDouble())));
+		}
+		return lines;
+	}
+
+	private static String change(double before, double after) {
+		String percent = before == 0 ? "n/a" : String.format("%+.1f%%", (after - before) / before * 100);
+		return String.format("%.1f -> %.1f (%s)", before, after, percent);
+	}
+}
@@ -0,0 +1,66 @@
+package com.Dukaan.store.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load test settings, parsed from {@code key=value} arguments. Every key is optional.
+ */
+public record LoadTestConfig(
+		double rate,
+		int warmupSeconds,
+		int durationSeconds,
+		TrafficMix mix,
+		int users,
+		int products,
+		long seed,
+		Path reportDir,
+		Path baseline) {
+
+	private static final Set<String> KEYS = Set.of(
+			"rate", "warmup", "duration", "mix", "users", "products", "seed", "reportDir", "baseline");
+
+	static final String DEFAULT_MIX = "login:5,browse:30,search:20,product:30,order:10,cancel:5";
+
+	public static LoadTestConfig parse(String... args) {
+		Map<String, String> values = new HashMap<>();
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			String key = eq > 0 ? arg.substring(0, eq) : arg;
+			if (eq <= 0 || !KEYS.contains(key)) {
+				throw new IllegalArgumentException("Unknown argument '" + arg + "', expected key=value with key in " + KEYS);
+			}
+			values.put(key, arg.substring(eq + 1));
+		}
+		LoadTestConfig config = new LoadTestConfig(
+				Double.parseDouble(values.getOrDefault("rate", "200")),
+				Integer.parseInt(values.getOrDefault("warmup", "10")),
+				Integer.parseInt(values.getOrDefault("duration", "60")),
+				TrafficMix.parse(values.getOrDefault("mix", DEFAULT_MIX)),
+				Integer.parseInt(values.getOrDefault("users", "200")),
+				Integer.parseInt(values.getOrDefault("products", "1000")),
+				Long.parseLong(values.getOrDefault("seed", "42")),
+				Path.of(values.getOrDefault("reportDir", "loadtest-reports")),
+				values.containsKey("baseline") ? Path.of(values.get("baseline")) : null);
+		if (config.rate <= 0 || config.durationSeconds <= 0 || config.warmupSeconds < 0
+				|| config.users <= 0 || config.products <= 0) {
+			throw new IllegalArgumentException("rate, duration, users and products must be positive, warmup non-negative");
+		}
+		return config;
+	}
+
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("rate", rate);
+		map.put("warmupSeconds", warmupSeconds);
+		map.put("durationSeconds", durationSeconds);
+		map.put("mix", mix.toString());
+		map.put("users", users);
+		map.put("products", products);
+		map.put("seed", seed);
+		return map;
+	}
+}
@@ -0,0 +1,261 @@
+package com.Dukaan.store.loadtest;
+
+import com.Dukaan.store.StoreApplication;
+import com.Dukaan.store.loadtest.TrafficMix.Operation;
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.model.User;
+import com.Dukaan.store.repository.ProductRepository;
+import com.Dukaan.store.repository.UserRepository;
+import com.Dukaan.store.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the store in-process on H2 (the "test" profile, random port), seeds users,
+ * products and a pool of pending orders, then sends a {@link TrafficMix} of requests
+ * over HTTP at a fixed arrival rate. Requests are issued on schedule whether or not
+ * earlier ones have finished (an open model), and each latency is measured from the
+ * scheduled send time, so a stalled server shows up in the percentiles instead of
+ * silently lowering the request rate. After the warmup the counters are reset, the
+ * measured run is saved to the report directory and compared with the previous report.
+ *
+ * <p>Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="rate=500 duration=120"}.
+ */
+public class LoadTestRunner {
+
+	private static final String PASSWORD = "load-test-password";
+	private static final String[] ADJECTIVES = {"Red", "Blue", "Classic", "Organic", "Wireless", "Leather", "Steel", "Cotton"};
+	private static final String[] NOUNS = {"Shirt", "Lamp", "Kettle", "Headphones", "Backpack", "Notebook", "Chair", "Bottle"};
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final LoadTestConfig config;
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final LoadReport report = new LoadReport();
+	private final List<Long> productIds = new ArrayList<>();
+	private final List<String> productNames = new ArrayList<>();
+	private final List<String> emails = new ArrayList<>();
+	private final List<String> tokens = new ArrayList<>();
+	// Pending orders still available to cancel, each with its owner's index
+	private final ConcurrentLinkedQueue<long[]> cancellable = new ConcurrentLinkedQueue<>();
+	private String baseUrl;
+
+	public LoadTestRunner(LoadTestConfig config) {
+		this.config = config;
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.parse(args);
+		// Devtools would otherwise relaunch main() in a restart class loader
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StoreApplication.class)
+				.profiles("test")
+				.properties("server.port=0", "spring.main.banner-mode=off",
+						"logging.level.root=WARN", "logging.level.com.Dukaan.store=WARN")
+				.run()) {
+			new LoadTestRunner(config).run(context);
+		}
+	}
+
+	public void run(ConfigurableApplicationContext context) throws Exception {
+		baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+		System.out.printf("Seeding %d users and %d products%n", config.users(), config.products());
+		seed(context);
+		login();
+
+		if (config.warmupSeconds() > 0) {
+			System.out.printf("Warming up for %d s at %.0f req/s%n", config.warmupSeconds(), config.rate());
+			drive(config.warmupSeconds(), new Random(config.seed()));
+		}
+		System.out.printf("Measuring for %d s at %.0f req/s (%s)%n", config.durationSeconds(), config.rate(), config.mix());
+		report.start();
+		drive(config.durationSeconds(), new Random(config.seed() + 1));
+		report.stop();
+
+		Map<String, Object> summary = report.summary(config);
+		Path previous = config.baseline() != null ? config.baseline() : LoadReport.latestReport(config.reportDir());
+		Path saved = report.save(config.reportDir(), summary);
+		System.out.println(mapper.writerWithDefaultPrettyPrinter().writeValueAsString(summary.get("endpoints")));
+		System.out.println("Report written to " + saved.toAbsolutePath());
+		if (previous != null) {
+			System.out.println("Compared with " + previous.toAbsolutePath());
+			LoadReport.compare(mapper.readTree(previous.toFile()), summary).forEach(System.out::println);
+		}
+	}
+
+	/**
+	 * Users, products and pending orders go straight through the repositories: seeding is
+	 * not part of what is measured, and registering users one request at a time would be
+	 * dominated by password hashing.
+	 */
+	private void seed(ConfigurableApplicationContext context) {
+		ProductRepository productRepository = context.getBean(ProductRepository.class);
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		OrderService orderService = context.getBean(OrderService.class);
+		Random random = new Random(config.seed());
+
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < config.products(); i++) {
+			String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i;
+			// Stock high enough that orders never run out during a run
+			products.add(new Product(name, "Load test product " + i, 5 + random.nextInt(49_500) / 100.0, 1_000_000));
+		}
+		for (Product product : productRepository.saveAll(products)) {
+			productIds.add(product.getId());
+			productNames.add(product.getName());
+		}
+
+		// One hash for every user; BCrypt at full cost per user would take minutes
+		String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < config.users(); i++) {
+			String email = "load-user-" + i + "@example.com";
+			emails.add(email);
+			users.add(new User("Load User " + i, email, hash, "USER"));
+		}
+		users = userRepository.saveAll(users);
+
+		// Enough pending orders for every scheduled cancel, with some headroom
+		int seconds = config.warmupSeconds() + config.durationSeconds();
+		int pending = (int) Math.ceil(config.rate() * config.mix().share(Operation.CANCEL) * seconds * 1.2);
+		if (pending > 0) {
+			System.out.printf("Seeding %d pending orders to cancel%n", pending);
+		}
+		for (int i = 0; i < pending; i++) {
+			int owner = random.nextInt(users.size());
+			Product product = productRepository.findById(productIds.get(random.nextInt(productIds.size()))).orElseThrow();
+			Order order = new Order();
+			order.setUser(users.get(owner));
+			order.setItems(new ArrayList<>(List.of(new OrderItem(order, product, 1))));
+			cancellable.add(new long[]{orderService.createOrder(order).getId(), owner});
+		}
+	}
+
+	private void login() throws Exception {
+		for (String email : emails) {
+			HttpResponse<String> response = client.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 200) {
+				throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode() + " " + response.body());
+			}
+			tokens.add(mapper.readTree(response.body()).path("token").asText());
+		}
+	}
+
+	/**
+	 * Schedule {@code rate * seconds} requests, the i-th at {@code start + i / rate}. The
+	 * scheduler only picks and submits requests; each one runs on its own virtual thread.
+	 */
+	private void drive(int seconds, Random random) throws InterruptedException {
+		long total = Math.round(config.rate() * seconds);
+		double intervalNanos = 1e9 / config.rate();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			long start = System.nanoTime();
+			for (long i = 0; i < total; i++) {
+				long intended = start + (long) (i * intervalNanos);
+				long wait;
+				while ((wait = intended - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				Operation operation = config.mix().pick(random);
+				HttpRequest request = request(operation, random);
+				if (request == null) {
+					report.skipped(operation);
+					continue;
+				}
+				executor.execute(() -> send(operation, request, intended));
+			}
+			executor.shutdown();
+			if (!executor.awaitTermination(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private void send(Operation operation, HttpRequest request, long intended) {
+		boolean success;
+		try {
+			int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			success = status >= 200 && status < 300;
+		} catch (Exception e) {
+			success = false;
+		}
+		report.record(operation, System.nanoTime() - intended, success);
+	}
+
+	private HttpRequest request(Operation operation, Random random) {
+		int user = random.nextInt(tokens.size());
+		return switch (operation) {
+			case LOGIN -> loginRequest(emails.get(user));
+			case BROWSE -> get("/api/products/paginated?page=" + random.nextInt(Math.max(1, productIds.size() / 20))
+					+ "&size=20&sortBy=" + (random.nextBoolean() ? "name" : "price"), user);
+			case SEARCH -> random.nextInt(4) == 0
+					? get("/api/products/search?minPrice=" + random.nextInt(200) + "&maxPrice=" + (200 + random.nextInt(300)), user)
+					: get("/api/products/search?name=" + NOUNS[random.nextInt(NOUNS.length)], user);
+			case PRODUCT -> get("/api/products/" + productIds.get(random.nextInt(productIds.size())), user);
+			case ORDER -> authorized("/api/orders", user)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(orderBody(emails.get(user),
+							productNames.get(random.nextInt(productNames.size())))))
+					.build();
+			case CANCEL -> {
+				long[] order = cancellable.poll();
+				yield order == null ? null : authorized("/api/orders/" + order[0] + "/cancel", (int) order[1])
+						.PUT(HttpRequest.BodyPublishers.noBody())
+						.build();
+			}
+		};
+	}
+
+	private HttpRequest loginRequest(String email) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json(Map.of("email", email, "password", PASSWORD))))
+				.build();
+	}
+
+	private HttpRequest get(String path, int user) {
+		return authorized(path, user).GET().build();
+	}
+
+	private HttpRequest.Builder authorized(String path, int user) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(REQUEST_TIMEOUT)
+				.header("Authorization", "Bearer " + tokens.get(user));
+	}
+
+	private String orderBody(String email, String productName) {
+		return json(Map.of(
+				"user", Map.of("email", email),
+				"items", List.of(Map.of("product", Map.of("name", productName), "quantity", 1))));
+	}
+
+	private String json(Object value) {
+		try {
+			return mapper.writeValueAsString(value);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
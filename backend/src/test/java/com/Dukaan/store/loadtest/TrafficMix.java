@@ -0,0 +1,106 @@
+package com.Dukaan.store.loadtest;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Weighted share of each store operation in the generated traffic, e.g.
+ * {@code login:5,browse:30,search:20,product:30,order:10,cancel:5}.
+ */
+public class TrafficMix {
+
+	public enum Operation {
+		LOGIN("login", "POST /login"),
+		BROWSE("browse", "GET /api/products/paginated"),
+		SEARCH("search", "GET /api/products/search"),
+		PRODUCT("product", "GET /api/products/{id}"),
+		ORDER("order", "POST /api/orders"),
+		CANCEL("cancel", "PUT /api/orders/{id}/cancel");
+
+		final String key;
+		final String endpoint;
+
+		Operation(String key, String endpoint) {
+			this.key = key;
+			this.endpoint = endpoint;
+		}
+
+		public String endpoint() {
+			return endpoint;
+		}
+
+		static Operation fromKey(String key) {
+			for (Operation operation : values()) {
+				if (operation.key.equals(key)) {
+					return operation;
+				}
+			}
+			throw new IllegalArgumentException("Unknown operation '" + key + "'");
+		}
+	}
+
+	private final Map<Operation, Double> weights;
+	private final Operation[] operations;
+	private final double[] cumulative;
+
+	private TrafficMix(Map<Operation, Double> weights) {
+		this.weights = weights;
+		this.operations = weights.keySet().toArray(new Operation[0]);
+		this.cumulative = new double[operations.length];
+		double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+		double sum = 0;
+		for (int i = 0; i < operations.length; i++) {
+			sum += weights.get(operations[i]) / total;
+			cumulative[i] = sum;
+		}
+	}
+
+	public static TrafficMix parse(String spec) {
+		Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+		for (String part : spec.split(",")) {
+			String[] pair = part.trim().split(":");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("Mix entries must look like operation:weight, got '" + part + "'");
+			}
+			double weight = Double.parseDouble(pair[1]);
+			if (weight < 0) {
+				throw new IllegalArgumentException("Negative weight for " + pair[0]);
+			}
+			if (weight > 0) {
+				weights.merge(Operation.fromKey(pair[0].trim()), weight, Double::sum);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("Mix needs at least one operation with a positive weight");
+		}
+		return new TrafficMix(weights);
+	}
+
+	public Operation pick(Random random) {
+		double r = random.nextDouble();
+		for (int i = 0; i < operations.length - 1; i++) {
+			if (r < cumulative[i]) {
+				return operations[i];
+			}
+		}
+		return operations[operations.length - 1];
+	}
+
+	/**
+	 * Fraction of all requests that are {@code operation}.
+	 */
+	public double share(Operation operation) {
+		double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+		return weights.getOrDefault(operation, 0.0) / total;
+	}
+
+	@Override
+	public String toString() {
+		return weights.entrySet().stream()
+				.map(e -> e.getKey().key + ":" + BigDecimal.valueOf(e.getValue()).stripTrailingZeros().toPlainString())
+				.collect(Collectors.joining(","));
+	}
+}
@@ -0,0 +1,67 @@
+package com.Dukaan.store.loadtest;
+
+import com.Dukaan.store.loadtest.TrafficMix.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficMixTest {
+
+	@Test
+	void picksOperationsInProportionToTheirWeights() {
+		TrafficMix mix = TrafficMix.parse("browse:3, product:1, cancel:0");
+		Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+		Random random = new Random(1);
+		for (int i = 0; i < 40_000; i++) {
+			counts.merge(mix.pick(random), 1, Integer::sum);
+		}
+
+		assertEquals(Map.of(Operation.BROWSE, counts.get(Operation.BROWSE), Operation.PRODUCT, counts.get(Operation.PRODUCT)), counts);
+		assertEquals(0.75, counts.get(Operation.BROWSE) / 40_000.0, 0.01);
+		assertEquals(0.25, mix.share(Operation.PRODUCT), 1e-9);
+		assertEquals(0, mix.share(Operation.CANCEL));
+		assertEquals("browse:3,product:1", mix.toString());
+	}
+
+	@Test
+	void rejectsUnknownOperationsAndArguments() {
+		assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("checkout:5"));
+		assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("browse:0"));
+		assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parse("rps=100"));
+
+		LoadTestConfig config = LoadTestConfig.parse("rate=50", "duration=5");
+		assertEquals(50, config.rate());
+		assertEquals(LoadTestConfig.DEFAULT_MIX, config.mix().toString());
+	}
+
+	@Test
+	void comparesThroughputAndP99WithThePreviousReport() {
+		LoadReport report = new LoadReport();
+		report.start();
+		report.record(Operation.PRODUCT, 2_000_000, true);
+		report.record(Operation.PRODUCT, 4_000_000, false);
+		report.skipped(Operation.CANCEL);
+		report.stop();
+		Map<String, Object> current = report.summary(LoadTestConfig.parse());
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> product = (Map<String, Object>) ((Map<String, Object>) current.get("endpoints")).get("GET /api/products/{id}");
+		assertEquals(2L, product.get("requests"));
+		assertEquals(1L, product.get("errors"));
+		assertEquals(4.0, (double) product.get("p99Ms"), 0.01);
+
+		Map<String, Object> previous = Map.of(
+				"endpoints", Map.of("GET /api/products/{id}", Map.of("throughput", 0.0, "p99Ms", 2.0)),
+				"total", Map.of("throughput", 0.0, "p99Ms", 8.0));
+		List<String> lines = LoadReport.compare(new ObjectMapper().valueToTree(previous), current);
+		assertEquals(3, lines.size());
+		assertTrue(lines.get(1).contains("2.0 -> 4.0 (+100."), lines.get(1));
+		assertTrue(lines.get(2).contains("8.0 -> 4.0 (-50.0%)"), lines.get(2));
+	}
+}
@@ -0,0 +1,54 @@
+package com.Dukaan.store.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLoggingTurboFilterTest {
+
+	private final LoggerContext context = new LoggerContext();
+
+	@AfterEach
+	void clearMdc() {
+		MDC.clear();
+	}
+
+	private SampledLoggingTurboFilter filter(String rates) {
+		SampledLoggingTurboFilter filter = new SampledLoggingTurboFilter();
+		filter.setCategoryRates(rates);
+		filter.start();
+		return filter;
+	}
+
+	@Test
+	void longestCategoryPrefixWins() {
+		SampledLoggingTurboFilter filter = filter("com.Dukaan.store=0.01, com.Dukaan.store.web=0.5");
+		assertEquals(0.5, filter.rateFor("com.Dukaan.store.web.RequestSamplingFilter"), 1e-9);
+		assertEquals(0.01, filter.rateFor("com.Dukaan.store.service.OrderService"), 1e-9);
+		assertTrue(filter.rateFor("com.Dukaan.storefront.Other") < 0);
+	}
+
+	@Test
+	void acceptsDebugOnlyForSampledRequests() {
+		SampledLoggingTurboFilter filter = filter("com.Dukaan.store=0.01,org.springframework.security=0.001");
+		ch.qos.logback.classic.Logger store = context.getLogger("com.Dukaan.store.service.OrderService");
+		ch.qos.logback.classic.Logger security = context.getLogger("org.springframework.security.web.FilterChainProxy");
+
+		// No request context: configured levels apply
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, store, Level.DEBUG, "x", null, null));
+
+		MDC.put(SampledLoggingTurboFilter.SAMPLE_KEY, "0.005");
+		assertEquals(FilterReply.ACCEPT, filter.decide(null, store, Level.DEBUG, "x", null, null));
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, security, Level.DEBUG, "x", null, null));
+		// INFO and above are never touched
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, store, Level.WARN, "x", null, null));
+
+		MDC.put(SampledLoggingTurboFilter.SAMPLE_KEY, "0.5");
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, store, Level.TRACE, "x", null, null));
+	}
+}
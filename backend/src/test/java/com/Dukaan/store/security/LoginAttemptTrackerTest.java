@@ -0,0 +1,84 @@
+package com.Dukaan.store.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptTrackerTest {
+
+	private final LoginAttemptTracker tracker = new LoginAttemptTracker(3, 5, 15, 15, 1000);
+
+	@Test
+	void locksEmailAfterMaxFailures() {
+		assertEquals(0, tracker.recordFailure("john@example.com", "10.0.0.1"));
+		assertEquals(0, tracker.recordFailure("john@example.com", "10.0.0.1"));
+		assertFalse(tracker.isEmailBlocked("john@example.com"));
+
+		assertTrue(tracker.recordFailure("John@Example.com", "10.0.0.1") > System.currentTimeMillis());
+		assertTrue(tracker.isEmailBlocked("john@example.com"));
+		assertFalse(tracker.isIpBlocked("10.0.0.1"));
+	}
+
+	@Test
+	void throttlesUnknownEmailsAndIps() {
+		for (int i = 0; i < 5; i++) {
+			tracker.recordFailure("nobody" + i + "@example.com", "10.0.0.2");
+		}
+		assertTrue(tracker.isIpBlocked("10.0.0.2"));
+		assertFalse(tracker.isIpBlocked("10.0.0.3"));
+	}
+
+	@Test
+	void successClearsEmailWindow() {
+		tracker.recordFailure("jane@example.com", "10.0.0.4");
+		tracker.recordFailure("jane@example.com", "10.0.0.4");
+		tracker.recordSuccess("jane@example.com");
+		assertEquals(0, tracker.recordFailure("jane@example.com", "10.0.0.4"));
+		assertFalse(tracker.isEmailBlocked("jane@example.com"));
+	}
+
+	@Test
+	void staysWithinMaxTrackedKeysAndKeepsLocks() {
+		LoginAttemptTracker small = new LoginAttemptTracker(3, 5, 15, 15, 10);
+		small.recordFailure("locked@example.com", null);
+		small.recordFailure("locked@example.com", null);
+		small.recordFailure("locked@example.com", null);
+		assertTrue(small.isEmailBlocked("locked@example.com"));
+
+		// Every key is active, so expiry alone frees nothing
+		for (int i = 0; i < 50; i++) {
+			small.recordFailure("flood" + i + "@example.com", null);
+			assertTrue(small.trackedKeys() <= 10, "tracking " + small.trackedKeys() + " keys");
+		}
+		assertTrue(small.isEmailBlocked("locked@example.com"));
+	}
+
+	@Test
+	void concurrentFloodNeverFailsALogin() throws Exception {
+		LoginAttemptTracker small = new LoginAttemptTracker(3, 5, 15, 15, 100);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		List<Future<?>> tasks = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			int thread = t;
+			tasks.add(pool.submit(() -> {
+				for (int i = 0; i < 5000; i++) {
+					// Repeated keys keep windows changing while another thread sweeps
+					small.recordFailure("user" + ((thread * 5000 + i) % 400) + "@example.com", "10.1.0." + (i % 50));
+				}
+			}));
+		}
+		for (Future<?> task : tasks) {
+			task.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+		// Threads racing past the size check can each add one key
+		assertTrue(small.trackedKeys() <= 100 + 8, "tracking " + small.trackedKeys() + " keys");
+	}
+}
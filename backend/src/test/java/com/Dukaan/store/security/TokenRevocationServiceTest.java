@@ -0,0 +1,104 @@
+package com.Dukaan.store.security;
+
+import com.Dukaan.store.model.RevokedToken;
+import com.Dukaan.store.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRevocationServiceTest {
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private RevokedTokenRepository revokedTokenRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void revokedTokenIsRejectedAndOthersAreNot() {
+		String token = token("revoke@example.com");
+		String other = token("revoke@example.com");
+
+		tokenRevocationService.revokeToken(token);
+
+		assertTrue(tokenRevocationService.isRevoked(claims(token)));
+		assertFalse(tokenRevocationService.isRevoked(claims(other)));
+	}
+
+	@Test
+	void revokingAUserRejectsTheirEarlierTokens() {
+		String token = token("password-change@example.com");
+		String bystander = token("bystander@example.com");
+
+		tokenRevocationService.revokeAllForUser("password-change@example.com");
+
+		assertTrue(tokenRevocationService.isRevoked(claims(token)));
+		assertFalse(tokenRevocationService.isRevoked(claims(bystander)));
+	}
+
+	@Test
+	void loggingInRightAfterRevokingAUserIsNotRejected() {
+		String before = token("relogin@example.com");
+
+		tokenRevocationService.revokeAllForUser("relogin@example.com");
+		String after = token("relogin@example.com");
+
+		assertTrue(tokenRevocationService.isRevoked(claims(before)));
+		assertFalse(tokenRevocationService.isRevoked(claims(after)));
+		// Still accepted once the list is reloaded from the table
+		tokenRevocationService.rebuild();
+		assertFalse(tokenRevocationService.isRevoked(claims(after)));
+		assertTrue(tokenRevocationService.isRevoked(claims(before)));
+	}
+
+	@Test
+	void refreshPicksUpRowsThatCommitAfterTheLastRefresh() {
+		String token = token("other-instance@example.com");
+		Claims claims = claims(token);
+		tokenRevocationService.refresh();
+
+		// Written by another instance before the refresh above, but only visible now
+		RevokedToken row = new RevokedToken(claims.getId(), claims.getSubject(), null, claims.getExpiration());
+		row.setCreatedAt(new Date(System.currentTimeMillis() - 10_000));
+		revokedTokenRepository.save(row);
+		assertFalse(tokenRevocationService.isRevoked(claims));
+
+		tokenRevocationService.refresh();
+		assertTrue(tokenRevocationService.isRevoked(claims));
+	}
+
+	@Test
+	void rebuildKeepsLiveRevocationsAndPurgesExpiredOnes() {
+		String token = token("rebuild@example.com");
+		tokenRevocationService.revokeToken(token);
+		revokedTokenRepository.save(new RevokedToken("expired-jti", "rebuild@example.com", null,
+				new Date(System.currentTimeMillis() - 1000)));
+
+		tokenRevocationService.rebuild();
+
+		assertTrue(tokenRevocationService.isRevoked(claims(token)));
+		List<RevokedToken> rows = revokedTokenRepository.findAll();
+		assertTrue(rows.stream().noneMatch(row -> "expired-jti".equals(row.getJti())));
+	}
+
+	private String token(String email) {
+		return jwtUtil.generateToken(User.withUsername(email).password("unused").authorities(List.of()).build());
+	}
+
+	private Claims claims(String token) {
+		return jwtUtil.extractClaim(token, claims -> claims);
+	}
+}
@@ -0,0 +1,54 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.PaymentResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractPaymentServiceTest {
+
+	private static class TestPaymentService extends AbstractPaymentService {
+		TestPaymentService(long latencyMs, int maxConcurrency, int queueCapacity, long timeoutMs) {
+			super("test", new FakePaymentGateway(latencyMs, 0.0),
+					new CircuitBreaker("test", 10, 10, 50, 100, 10_000, 60_000, 1), maxConcurrency, queueCapacity, timeoutMs);
+		}
+	}
+
+	@Test
+	void approvesPaymentWithinTimeout() throws Exception {
+		TestPaymentService service = new TestPaymentService(0, 2, 4, 1000);
+		PaymentResult result = service.processPayment(10.0).get();
+		assertTrue(result.isSuccess());
+		assertEquals("test", result.getProvider());
+		service.shutdown();
+	}
+
+	@Test
+	void slowGatewayTimesOut() {
+		TestPaymentService service = new TestPaymentService(2000, 1, 1, 50);
+		ExecutionException ex = assertThrows(ExecutionException.class, () -> service.processPayment(10.0).get());
+		assertInstanceOf(TimeoutException.class, ex.getCause());
+		service.shutdown();
+	}
+
+	@Test
+	void saturatedPoolRejectsImmediately() {
+		TestPaymentService service = new TestPaymentService(500, 1, 1, 5000);
+		List<CompletableFuture<PaymentResult>> futures = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			futures.add(service.processPayment(10.0));
+		}
+		CompletableFuture<PaymentResult> rejected = futures.get(2);
+		assertTrue(rejected.isCompletedExceptionally());
+		ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+		assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+		service.shutdown();
+	}
+}
@@ -0,0 +1,72 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.BatchOrderResult;
+import com.Dukaan.store.dto.OrderDTO;
+import com.Dukaan.store.dto.OrderItemDTO;
+import com.Dukaan.store.dto.ProductDTO;
+import com.Dukaan.store.dto.UserDTO;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.model.User;
+import com.Dukaan.store.repository.ProductRepository;
+import com.Dukaan.store.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchOrderServiceTest {
+
+	@Autowired
+	private BatchOrderService batchOrderService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void placesOrdersThatFitAndRejectsTheRest() {
+		userRepository.save(new User("Batch Buyer", "batch@example.com", "secret", "USER"));
+		Product widget = productRepository.save(new Product("Batch Widget", "widget", 2.0, 5));
+
+		List<BatchOrderResult> results = batchOrderService.createOrders(List.of(
+				order("batch@example.com", "Batch Widget", 3),
+				order("batch@example.com", "Batch Widget", 3),
+				order("missing@example.com", "Batch Widget", 1),
+				order("batch@example.com", "No Such Product", 1),
+				order(null, "Batch Widget", 2)));
+
+		assertEquals(5, results.size());
+		assertEquals(BatchOrderResult.CREATED, results.get(0).getStatus());
+		assertEquals(6.0, results.get(0).getTotal(), 1e-9);
+		assertNotNull(results.get(0).getOrderId());
+		assertEquals("Insufficient stock for product: Batch Widget", results.get(1).getError());
+		assertEquals("User not found: missing@example.com", results.get(2).getError());
+		assertEquals("Product not found for order item", results.get(3).getError());
+		assertEquals(BatchOrderResult.CREATED, results.get(4).getStatus());
+		assertEquals(0, productRepository.findById(widget.getId()).orElseThrow().getStock());
+	}
+
+	private OrderDTO order(String email, String productName, int quantity) {
+		OrderDTO dto = new OrderDTO();
+		if (email != null) {
+			UserDTO user = new UserDTO();
+			user.setEmail(email);
+			dto.setUser(user);
+		}
+		ProductDTO product = new ProductDTO();
+		product.setName(productName);
+		OrderItemDTO item = new OrderItemDTO();
+		item.setProduct(product);
+		item.setQuantity(quantity);
+		dto.setItems(List.of(item));
+		return dto;
+	}
+}
@@ -0,0 +1,71 @@
+package com.Dukaan.store.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+	@Test
+	void opensWhenFailureRateReachesThreshold() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 10, 4, 50, 100, 1000, 60_000, 1);
+		for (int i = 0; i < 3; i++) {
+			assertTrue(breaker.tryAcquirePermission());
+			breaker.onFailure(5);
+		}
+		// Below minimumCalls nothing is decided yet
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertTrue(breaker.tryAcquirePermission());
+		breaker.onSuccess(5);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquirePermission());
+	}
+
+	@Test
+	void opensWhenSlowCallRateReachesThreshold() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 100, 75, 100, 60_000, 1);
+		breaker.onSuccess(500);
+		breaker.onSuccess(500);
+		breaker.onSuccess(5);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		breaker.onSuccess(500);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	void oldOutcomesSlideOutOfTheWindow() {
+		CircuitBreaker breaker = new CircuitBreaker("test", 4, 4, 50, 100, 1000, 60_000, 1);
+		breaker.onFailure(5);
+		for (int i = 0; i < 10; i++) {
+			breaker.onSuccess(5);
+		}
+		breaker.onFailure(5);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals(1, breaker.getMetrics().get("failedCalls"));
+	}
+
+	@Test
+	void halfOpenTrialsCloseOrReopenTheBreaker() throws InterruptedException {
+		CircuitBreaker breaker = new CircuitBreaker("test", 2, 2, 50, 100, 1000, 20, 2);
+		breaker.onFailure(5);
+		breaker.onFailure(5);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+		Thread.sleep(30);
+		assertTrue(breaker.tryAcquirePermission());
+		assertTrue(breaker.tryAcquirePermission());
+		assertFalse(breaker.tryAcquirePermission());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		breaker.onSuccess(5);
+		breaker.onFailure(5);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+		Thread.sleep(30);
+		assertTrue(breaker.tryAcquirePermission());
+		assertTrue(breaker.tryAcquirePermission());
+		breaker.onSuccess(5);
+		breaker.onSuccess(5);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals(2L, breaker.getMetrics().get("timesOpened"));
+	}
+}
@@ -0,0 +1,84 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.config.MonitoredPoolDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolMonitorTest {
+
+	private HikariDataSource pool;
+
+	@AfterEach
+	void closePool() {
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	@Test
+	void tracksAcquireTimesAndReportsLeaksWithOwner() throws Exception {
+		ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(1, 10, 0.25, 2, 50, false);
+		MonitoredPoolDataSource dataSource = monitored(monitor, "leaky", 4);
+
+		Connection held = dataSource.getConnection();
+		try (Connection quick = dataSource.getConnection()) {
+			assertFalse(quick.isClosed());
+		}
+		Thread.sleep(20);
+		monitor.detectLeaks();
+
+		Map<String, Object> leaks = monitor.getLeaks();
+		assertEquals(Map.of("ConnectionPoolMonitorTest#tracksAcquireTimesAndReportsLeaksWithOwner", 1L), leaks.get("byOwner"));
+		assertEquals(1, ((List<?>) leaks.get("heldPastThreshold")).size());
+
+		held.close();
+		held.close();
+		assertTrue(((List<?>) monitor.getLeaks().get("heldPastThreshold")).isEmpty());
+
+		Map<String, Object> metrics = monitor.getPoolMetrics().get(0);
+		assertEquals("leaky", metrics.get("pool"));
+		assertEquals(0, metrics.get("active"));
+		assertEquals(2L, ((Map<?, ?>) metrics.get("acquireTime")).get("count"));
+	}
+
+	@Test
+	void recommendsSizeFromPeakDemandAndAppliesIt() throws Exception {
+		ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(0, 5, 0.5, 2, 8, true);
+		MonitoredPoolDataSource dataSource = monitored(monitor, "sized", 10);
+
+		// Four connections in use at once between two samples, none at sample time
+		Connection[] connections = new Connection[4];
+		for (int i = 0; i < connections.length; i++) {
+			connections[i] = dataSource.getConnection();
+		}
+		for (Connection connection : connections) {
+			connection.close();
+		}
+		for (int i = 0; i < 5; i++) {
+			monitor.sampleDemand();
+		}
+
+		Map<String, Object> metrics = monitor.getPoolMetrics().get(0);
+		assertEquals(4, ((Map<?, ?>) metrics.get("demand")).get("max"));
+		assertEquals(6, metrics.get("recommendedMaximumPoolSize"));
+		assertEquals(6, pool.getMaximumPoolSize());
+		assertEquals(6, pool.getMinimumIdle());
+	}
+
+	private MonitoredPoolDataSource monitored(ConnectionPoolMonitor monitor, String name, int size) {
+		pool = new HikariDataSource();
+		pool.setJdbcUrl("jdbc:h2:mem:" + name);
+		pool.setUsername("sa");
+		pool.setPoolName(name);
+		pool.setMaximumPoolSize(size);
+		monitor.register(pool);
+		return new MonitoredPoolDataSource(pool, monitor);
+	}
+}
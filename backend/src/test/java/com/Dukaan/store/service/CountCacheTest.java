@@ -0,0 +1,58 @@
+package com.Dukaan.store.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountCacheTest {
+
+	@Test
+	void cachesCountsPerKeyUntilRegionIsInvalidated() {
+		CountCache cache = new CountCache(60_000, 100);
+		AtomicInteger calls = new AtomicInteger();
+
+		assertEquals(7, cache.count(CountCache.USERS, "a", () -> { calls.incrementAndGet(); return 7; }));
+		assertEquals(7, cache.count(CountCache.USERS, "a", () -> { calls.incrementAndGet(); return 8; }));
+		assertEquals(3, cache.count(CountCache.ORDERS, "a", () -> { calls.incrementAndGet(); return 3; }));
+		assertEquals(2, calls.get());
+
+		cache.invalidate(CountCache.USERS);
+		assertEquals(8, cache.count(CountCache.USERS, "a", () -> { calls.incrementAndGet(); return 8; }));
+		assertEquals(3, cache.count(CountCache.ORDERS, "a", () -> { calls.incrementAndGet(); return 4; }));
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	void expiredCountsAreRecounted() {
+		CountCache cache = new CountCache(0, 100);
+		assertEquals(1, cache.count(CountCache.PRODUCTS, "", () -> 1));
+		assertEquals(2, cache.count(CountCache.PRODUCTS, "", () -> 2));
+	}
+
+	@Test
+	void countRacingAWriteIsNotCached() {
+		CountCache cache = new CountCache(60_000, 100);
+		assertEquals(5, cache.count(CountCache.ORDERS, "k", () -> {
+			cache.invalidate(CountCache.ORDERS);
+			return 5;
+		}));
+		assertEquals(6, cache.count(CountCache.ORDERS, "k", () -> 6));
+	}
+
+	@Test
+	void pageCombinesSliceRowsWithCachedTotal() {
+		CountCache cache = new CountCache(60_000, 100);
+		Page<String> page = cache.page(new SliceImpl<>(List.of("c", "d"), PageRequest.of(1, 2), true),
+				CountCache.PRODUCTS, "", () -> 9);
+		assertEquals(List.of("c", "d"), page.getContent());
+		assertEquals(9, page.getTotalElements());
+		assertEquals(5, page.getTotalPages());
+		assertTrue(page.hasNext());
+	}
+}
@@ -0,0 +1,42 @@
+package com.Dukaan.store.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+	@Test
+	void reportsBucketUpperBoundsAsPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 98; i++) {
+			histogram.record(200_000);       // 0.2 ms -> <=0.25ms bucket
+		}
+		histogram.record(40_000_000);        // 40 ms -> <=50ms bucket
+		histogram.record(3_000_000_000L);    // 3 s -> <=5000ms bucket
+
+		assertEquals(100, histogram.getCount());
+		assertEquals(0.25, histogram.getPercentileMs(50), 1e-9);
+		assertEquals(0.25, histogram.getPercentileMs(98), 1e-9);
+		assertEquals(50, histogram.getPercentileMs(99), 1e-9);
+		assertEquals(3000, histogram.getPercentileMs(100), 1e-9);
+		assertEquals(3000, histogram.getMaxMs(), 1e-9);
+
+		@SuppressWarnings("unchecked")
+		Map<String, Long> buckets = (Map<String, Long>) histogram.toMap().get("buckets");
+		assertEquals(Map.of("<=0.25ms", 98L, "<=50ms", 1L, "<=5000ms", 1L), buckets);
+	}
+
+	@Test
+	void resetClearsEverything() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(1_000_000);
+		histogram.reset();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMaxMs());
+		assertEquals(0, histogram.getPercentileMs(99));
+	}
+}
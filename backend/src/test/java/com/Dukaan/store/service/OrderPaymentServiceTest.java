@@ -0,0 +1,130 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.Payment;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+		"store.payment.stripe.timeout-ms=300",
+		"store.payment.stripe.fake-latency-ms=0",
+		"store.payment.failover-enabled=false"
+})
+@ActiveProfiles("test")
+class OrderPaymentServiceTest {
+
+	@Autowired
+	private OrderPaymentService orderPaymentService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private PaymentRouter paymentRouter;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@AfterEach
+	void resetGateway() {
+		gateway().setLatencyMs(0);
+		((AbstractPaymentService) paymentRouter.getProvider("stripe")).getCircuitBreaker().reset();
+	}
+
+	@Test
+	void concurrentPaymentsChargeTheOrderOnce() throws Exception {
+		Order order = placeOrder();
+		gateway().setLatencyMs(100);
+
+		CompletableFuture<OrderPaymentService.Outcome> first = orderPaymentService.pay(order, "stripe");
+		CompletableFuture<OrderPaymentService.Outcome> second = orderPaymentService.pay(order, "stripe");
+
+		ExecutionException ex = assertThrows(ExecutionException.class, second::get);
+		assertInstanceOf(IllegalStateException.class, ex.getCause());
+		assertEquals(Payment.APPROVED, first.get().payment().getStatus());
+		assertEquals("PROCESSING", orderService.getOrderById(order.getId()).getStatus());
+		assertEquals(1, orderPaymentService.getPayments(order.getId()).size());
+	}
+
+	@Test
+	void timedOutChargeIsSettledWhenTheGatewayAnswers() throws Exception {
+		Order order = placeOrder();
+		gateway().setLatencyMs(1000);
+
+		ExecutionException ex = assertThrows(ExecutionException.class, () -> orderPaymentService.pay(order, "stripe").get());
+		assertInstanceOf(TimeoutException.class, ex.getCause());
+		Payment payment = orderPaymentService.getPayments(order.getId()).get(0);
+		assertEquals(Payment.TIMED_OUT, payment.getStatus());
+		assertTrue(orderPaymentService.getUnsettledPayments().stream().anyMatch(p -> p.getId().equals(payment.getId())));
+		// Still claimed, so a retry cannot charge a second time
+		assertEquals(OrderService.PAYING, orderService.getOrderById(order.getId()).getStatus());
+		assertThrows(ExecutionException.class, () -> orderPaymentService.pay(order, "stripe").get());
+
+		assertEquals(Payment.APPROVED, awaitSettled(order.getId()).getStatus());
+		assertEquals("PROCESSING", orderService.getOrderById(order.getId()).getStatus());
+	}
+
+	@Test
+	void approvalForAnOrderChangedInFlightIsFlaggedForRefund() throws Exception {
+		Order order = placeOrder();
+		gateway().setLatencyMs(100);
+
+		CompletableFuture<OrderPaymentService.Outcome> pending = orderPaymentService.pay(order, "stripe");
+		assertThrows(IllegalStateException.class, () -> orderService.cancelOrder(order.getId()));
+		assertTrue(orderService.transitionStatus(order.getId(), OrderService.PAYING, "CANCELLED"));
+
+		Payment payment = pending.get().payment();
+		assertEquals(Payment.REFUND_REQUIRED, payment.getStatus());
+		assertNotNull(payment.getTransactionId());
+		assertEquals("CANCELLED", orderService.getOrderById(order.getId()).getStatus());
+		assertTrue(orderPaymentService.getUnsettledPayments().stream().anyMatch(p -> p.getId().equals(payment.getId())));
+	}
+
+	@Test
+	void declinedChargeReleasesTheOrder() throws Exception {
+		Order order = placeOrder();
+		gateway().setDeclineRate(1.0);
+		try {
+			assertEquals(Payment.DECLINED, orderPaymentService.pay(order, "stripe").get().payment().getStatus());
+		} finally {
+			gateway().setDeclineRate(0.0);
+		}
+		assertEquals("PENDING", orderService.getOrderById(order.getId()).getStatus());
+	}
+
+	private Order placeOrder() {
+		Product product = productRepository.save(new Product("Payment Lamp", "desk lamp", 25.0, 10));
+		Order order = new Order();
+		order.getItems().add(new OrderItem(order, product, 1));
+		return orderService.createOrder(order);
+	}
+
+	private Payment awaitSettled(Long orderId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			List<Payment> payments = orderPaymentService.getPayments(orderId);
+			if (payments.get(0).getSettledAt() != null) {
+				return payments.get(0);
+			}
+			Thread.sleep(50);
+		}
+		return fail("Payment for order " + orderId + " was never settled");
+	}
+
+	private FakePaymentGateway gateway() {
+		return (FakePaymentGateway) ((AbstractPaymentService) paymentRouter.getProvider("stripe")).getGateway();
+	}
+}
@@ -0,0 +1,67 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.OrderItemDTO;
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.repository.OrderRepository;
+import com.Dukaan.store.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceTest {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void ordersKeepThePriceAndNamePaidAtCheckout() {
+		Product lamp = productRepository.save(new Product("Snapshot Lamp", "desk lamp", 20.0, 10));
+		LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+
+		Order order = new Order();
+		OrderItem item = new OrderItem(order, lamp, 2);
+		order.getItems().add(item);
+		Long orderId = orderService.createOrder(order).getId();
+		assertEquals(lamp.getId(), orderService.toDTO(item).getProductId());
+
+		Product repriced = productRepository.findById(lamp.getId()).orElseThrow();
+		repriced.setPrice(35.0);
+		repriced.setName("Renamed Lamp");
+		productRepository.save(repriced);
+
+		OrderItemDTO line = new TransactionTemplate(transactionManager).execute(status -> {
+			Order saved = orderService.getOrderById(orderId);
+			assertEquals(40.0, saved.getTotalPrice(), 1e-9);
+			return orderService.toDTO(saved.getItems().get(0));
+		});
+		assertEquals(20.0, line.getPrice(), 1e-9);
+		assertEquals("Snapshot Lamp", line.getProductName());
+		assertEquals(lamp.getId(), line.getProductId());
+		assertNull(line.getProduct());
+
+		List<Object[]> sales = orderRepository.sumSalesByProduct(before, LocalDateTime.now().plusSeconds(1));
+		Object[] lampSales = sales.stream().filter(row -> lamp.getId().equals(row[0])).findFirst().orElseThrow();
+		assertEquals(40.0, ((Number) lampSales[2]).doubleValue(), 1e-9);
+	}
+}
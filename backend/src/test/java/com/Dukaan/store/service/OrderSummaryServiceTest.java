@@ -0,0 +1,131 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.OrderSummaryDTO;
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.model.User;
+import com.Dukaan.store.repository.OrderSummaryRepository;
+import com.Dukaan.store.repository.ProductRepository;
+import com.Dukaan.store.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderSummaryServiceTest {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderSummaryService summaryService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private OrderSummaryRepository summaryRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void summaryFollowsCheckoutStatusChangesAndCancellation() {
+		User buyer = userRepository.save(new User("Summary Buyer", "summary@example.com", "secret", "USER"));
+		Product mug = productRepository.save(new Product("Summary Mug", "mug", 4.0, 10));
+
+		Long orderId = orderService.createOrder(order(buyer, mug, 3)).getId();
+		OrderSummaryDTO placed = only(summaryService.getSummariesByUserId(buyer.getId()));
+		assertEquals(orderId, placed.id());
+		assertEquals("summary@example.com", placed.userEmail());
+		assertEquals(3, placed.itemCount());
+		assertEquals(12.0, placed.total(), 1e-9);
+		assertEquals("PENDING", placed.status());
+
+		orderService.updateOrderStatus(orderId, "PROCESSING");
+		assertEquals("PROCESSING", only(summaryService.getSummariesByUserId(buyer.getId())).status());
+
+		orderService.cancelOrder(orderId);
+		Page<OrderSummaryDTO> cancelled = summaryService.getSummariesFiltered("cancelled",
+				LocalDate.now(), LocalDate.now(), PageRequest.of(0, 100));
+		assertTrue(cancelled.getContent().stream().anyMatch(s -> s.id().equals(orderId)));
+
+		buyer.setEmail("summary-renamed@example.com");
+		userService.updateUser(buyer);
+		assertEquals("summary-renamed@example.com", only(summaryService.getSummariesByUserId(buyer.getId())).userEmail());
+
+		orderService.deleteOrder(orderId);
+		assertTrue(summaryService.getSummariesByUserId(buyer.getId()).isEmpty());
+	}
+
+	@Test
+	void failedCheckoutLeavesNoSummary() {
+		User buyer = userRepository.save(new User("Rollback Buyer", "rollback@example.com", "secret", "USER"));
+		Product scarce = productRepository.save(new Product("Summary Scarce", "scarce", 1.0, 1));
+
+		assertThrows(RuntimeException.class, () -> orderService.createOrder(order(buyer, scarce, 2)));
+		assertTrue(summaryService.getSummariesByUserId(buyer.getId()).isEmpty());
+	}
+
+	@Test
+	void backfillCoversOrdersWithoutSummary() {
+		User buyer = userRepository.save(new User("Legacy Buyer", "legacy@example.com", "secret", "USER"));
+		Product pen = productRepository.save(new Product("Summary Pen", "pen", 1.5, 10));
+		Long orderId = orderService.createOrder(order(buyer, pen, 4)).getId();
+		summaryRepository.deleteById(orderId);
+
+		summaryService.backfill();
+
+		OrderSummaryDTO restored = only(summaryService.getSummariesByUserId(buyer.getId()));
+		assertEquals(4, restored.itemCount());
+		assertEquals(6.0, restored.total(), 1e-9);
+		assertEquals("legacy@example.com", restored.userEmail());
+		assertEquals(summaryRepository.count(), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class));
+	}
+
+	@Test
+	void ordersWithoutACreationDateOnlyMatchFiltersWithoutDates() {
+		// Written before orders had a creation date
+		jdbcTemplate.update("INSERT INTO orders (total_price, status, created_at) VALUES (9.5, 'LEGACY', NULL)");
+		Long orderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders WHERE status = 'LEGACY'", Long.class);
+		summaryService.backfill();
+
+		Page<OrderSummaryDTO> all = summaryService.getSummariesFiltered("legacy", null, null, PageRequest.of(0, 100));
+		assertEquals(List.of(orderId), all.getContent().stream().map(OrderSummaryDTO::id).toList());
+		assertEquals(1, all.getTotalElements());
+		assertTrue(summaryService.getSummariesSlice(null, null, null, PageRequest.of(0, 1000)).getContent().stream()
+				.anyMatch(s -> s.id().equals(orderId)));
+
+		Page<OrderSummaryDTO> dated = summaryService.getSummariesFiltered("legacy", LocalDate.of(2000, 1, 1), null, PageRequest.of(0, 100));
+		assertEquals(0, dated.getTotalElements());
+	}
+
+	private static Order order(User user, Product product, int quantity) {
+		Order order = new Order();
+		order.setUser(user);
+		order.getItems().add(new OrderItem(order, product, quantity));
+		return order;
+	}
+
+	private static OrderSummaryDTO only(List<OrderSummaryDTO> summaries) {
+		assertEquals(1, summaries.size());
+		return summaries.get(0);
+	}
+}
@@ -0,0 +1,54 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.dto.PaymentResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentRouterTest {
+
+	private static class TestPaymentService extends AbstractPaymentService {
+		TestPaymentService(String provider, FakePaymentGateway gateway) {
+			super(provider, gateway, new CircuitBreaker(provider, 4, 4, 50, 100, 10_000, 60_000, 1), 2, 4, 1000);
+		}
+	}
+
+	@Test
+	void failsOverWhenBreakerIsOpen() throws Exception {
+		FakePaymentGateway faulty = new FakePaymentGateway(0, 0.0, 1.0);
+		TestPaymentService primary = new TestPaymentService("primary", faulty);
+		TestPaymentService backup = new TestPaymentService("backup", new FakePaymentGateway(0, 0.0));
+		PaymentRouter router = new PaymentRouter(List.of(primary, backup));
+
+		// Gateway errors are reported, not retried elsewhere: the charge may have gone through
+		for (int i = 0; i < 4; i++) {
+			ExecutionException ex = assertThrows(ExecutionException.class, () -> router.pay("primary", 5.0).get());
+			assertFalse(ex.getCause() instanceof CallNotPermittedException);
+		}
+		assertEquals(CircuitBreaker.State.OPEN, primary.getCircuitBreaker().getState());
+		assertFalse(primary.isAvailable());
+
+		PaymentResult result = router.pay("primary", 5.0).get();
+		assertTrue(result.isSuccess());
+		assertEquals("backup", result.getProvider());
+		primary.shutdown();
+		backup.shutdown();
+	}
+
+	@Test
+	void reportsUnavailableWhenEveryBreakerIsOpen() {
+		TestPaymentService only = new TestPaymentService("only", new FakePaymentGateway(0, 0.0));
+		only.getCircuitBreaker().onFailure(1);
+		only.getCircuitBreaker().onFailure(1);
+		only.getCircuitBreaker().onFailure(1);
+		only.getCircuitBreaker().onFailure(1);
+		PaymentRouter router = new PaymentRouter(List.of(only));
+
+		ExecutionException ex = assertThrows(ExecutionException.class, () -> router.pay("only", 5.0).get());
+		assertInstanceOf(CallNotPermittedException.class, ex.getCause());
+		only.shutdown();
+	}
+}
@@ -0,0 +1,112 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceFacetServiceTest {
+
+	private final double[] prices = {1.0, 2.5, 2.5, 2.5, 7.0, 10.0};
+
+	@Test
+	void lowerBoundFindsFirstPriceAtOrAbove() {
+		assertEquals(0, PriceFacetService.lowerBound(prices, 0, prices.length, 0.5));
+		assertEquals(1, PriceFacetService.lowerBound(prices, 0, prices.length, 2.5));
+		assertEquals(4, PriceFacetService.lowerBound(prices, 0, prices.length, 3.0));
+		assertEquals(6, PriceFacetService.lowerBound(prices, 0, prices.length, 11.0));
+	}
+
+	@Test
+	void upperBoundFindsFirstPriceAbove() {
+		assertEquals(4, PriceFacetService.upperBound(prices, 0, prices.length, 2.5));
+		assertEquals(6, PriceFacetService.upperBound(prices, 0, prices.length, 10.0));
+		assertEquals(0, PriceFacetService.upperBound(prices, 0, prices.length, 0.0));
+	}
+
+	@Test
+	void histogramSplitsThePriceRangeIntoEqualBuckets() {
+		Map<String, Object> result = PriceFacetService.histogram(prices, 0, prices.length, 3);
+
+		assertEquals(6, result.get("total"));
+		assertEquals(1.0, result.get("min"));
+		assertEquals(10.0, result.get("max"));
+		// [1, 4) [4, 7) [7, 10]: the maximum is counted in the closed last bucket
+		assertEquals(List.of(4, 0, 2), counts(result));
+		List<Map<String, Object>> buckets = buckets(result);
+		assertEquals(4.0, (double) buckets.get(1).get("from"), 1e-9);
+		assertEquals(10.0, buckets.get(2).get("to"));
+	}
+
+	@Test
+	void histogramOfASubrangeOnlyCountsThatRange() {
+		int from = PriceFacetService.lowerBound(prices, 0, prices.length, 2.0);
+		int to = PriceFacetService.upperBound(prices, from, prices.length, 7.0);
+
+		Map<String, Object> result = PriceFacetService.histogram(prices, from, to, 2);
+
+		assertEquals(4, result.get("total"));
+		assertEquals(List.of(3, 1), counts(result));
+	}
+
+	@Test
+	void histogramOfIdenticalPricesHasOneFullBucket() {
+		Map<String, Object> result = PriceFacetService.histogram(prices, 1, 4, 5);
+
+		assertEquals(3, result.get("total"));
+		assertEquals(List.of(3), counts(result));
+		assertEquals(2.5, buckets(result).get(0).get("from"));
+		assertEquals(2.5, buckets(result).get(0).get("to"));
+	}
+
+	@Test
+	void histogramOfNoPricesHasNoBuckets() {
+		Map<String, Object> result = PriceFacetService.histogram(prices, 4, 4, 5);
+
+		assertEquals(0, result.get("total"));
+		assertTrue(buckets(result).isEmpty());
+		assertFalse(result.containsKey("min"));
+	}
+
+	@Test
+	void eventsCarryingThePriceNeverReloadTheProduct() {
+		// No repository: a reload would fail
+		PriceFacetService service = new PriceFacetService();
+		write(service, 1L, "Brass Lamp", 20.0, 4);
+		write(service, 2L, "Paper Lamp", 5.0, 4);
+		assertEquals(List.of(1, 1), counts(service.priceHistogram(null, null, null, 2)));
+
+		// Stock-only change from checkout
+		write(service, 1L, "Brass Lamp", 20.0, 3);
+		assertEquals(List.of(1, 1), counts(service.priceHistogram(null, null, null, 2)));
+
+		write(service, 2L, "Paper Lamp", 25.0, 3);
+		assertEquals(20.0, service.priceHistogram(null, null, null, 2).get("min"));
+		assertEquals(25.0, service.priceHistogram(null, null, null, 2).get("max"));
+	}
+
+	@Test
+	void pricesOfKeepsOnlyTheWantedIdsInPriceOrder() {
+		long[] ids = {7, 3, 9, 4, 1, 2};
+
+		assertArrayEquals(new double[] {2.5, 2.5, 10.0}, PriceFacetService.pricesOf(ids, prices, Set.of(2L, 4L, 9L, 99L)), 1e-9);
+		assertEquals(0, PriceFacetService.pricesOf(ids, prices, Set.of()).length);
+	}
+
+	private static void write(PriceFacetService service, Long id, String name, double price, int stock) {
+		service.onProductChanged(new ProductChangedEvent(id, ProductChangedEvent.Type.UPDATED, name, null, price, stock));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> buckets(Map<String, Object> result) {
+		return (List<Map<String, Object>>) result.get("buckets");
+	}
+
+	private static List<Object> counts(Map<String, Object> result) {
+		return buckets(result).stream().map(bucket -> bucket.get("count")).toList();
+	}
+}
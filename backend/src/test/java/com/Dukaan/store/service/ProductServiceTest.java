@@ -0,0 +1,55 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductServiceTest {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductFullTextIndex fullTextIndex;
+
+	@Test
+	void searchFiltersRanksAndPagesInTheDatabase() {
+		assertFalse(fullTextIndex.isAvailable(), "H2 uses the LIKE fallback");
+		Product described = productRepository.save(new Product("Quokka Stand", "holds a zebrine lamp", 30.0, 5));
+		Product named = productRepository.save(new Product("Zebrine Lamp", "desk lamp", 25.0, 5));
+		productRepository.save(new Product("Zebrine Shade", "lamp shade", 90.0, 5));
+
+		Page<Product> first = productService.searchProducts("ZEBRINE", null, 50.0, PageRequest.of(0, 1));
+		assertEquals(2, first.getTotalElements());
+		assertEquals(List.of(named.getId()), first.map(Product::getId).getContent());
+
+		Page<Product> second = productService.searchProducts("zebrine", null, 50.0, PageRequest.of(1, 1));
+		assertEquals(List.of(described.getId()), second.map(Product::getId).getContent());
+
+		assertEquals(1, productService.searchProducts("zebrine", 80.0, null, PageRequest.of(0, 10)).getTotalElements());
+	}
+
+	@Test
+	void searchTreatsWildcardsLiterally() {
+		productRepository.save(new Product("Wildcard 100% Cotton", "shirt", 10.0, 5));
+		productRepository.save(new Product("Wildcard 1000 Cotton", "shirt", 10.0, 5));
+
+		Page<Product> result = productService.searchProducts("100%", null, null, PageRequest.of(0, 10));
+		assertEquals(1, result.getTotalElements());
+		assertEquals("Wildcard 100% Cotton", result.getContent().get(0).getName());
+	}
+}
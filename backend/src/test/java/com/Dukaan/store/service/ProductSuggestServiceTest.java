@@ -0,0 +1,91 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggestServiceTest {
+
+	// Events carrying name and stock never reach the repository, so no database is needed
+	private final ProductSuggestService service = new ProductSuggestService();
+
+	@Test
+	void normalizeFoldsCaseAccentsAndPunctuation() {
+		assertEquals("creme brulee set", ProductSuggestService.normalize("  Crème-Brûlée  SET! "));
+		assertEquals("usb c 3 1 hub", ProductSuggestService.normalize("USB-C (3.1) hub"));
+		assertEquals("", ProductSuggestService.normalize(null));
+		assertEquals("", ProductSuggestService.normalize("--"));
+	}
+
+	@Test
+	void matchesTheStartOfAnyWord() {
+		write(1L, "Blue Café Mug", 5);
+		write(2L, "Mugwort Tea", 5);
+
+		assertEquals(List.of(1L), ids(service.suggest("CAFE", 10)));
+		assertEquals(List.of(1L), ids(service.suggest("café m", 10)));
+		assertEquals(List.of(1L, 2L), ids(service.suggest("mug", 10)));
+		// Not a word start
+		assertTrue(service.suggest("ug", 10).isEmpty());
+		assertTrue(service.suggest("  ", 10).isEmpty());
+	}
+
+	@Test
+	void ranksByStockAndHonoursTheLimit() {
+		write(1L, "Desk Lamp", 2);
+		write(2L, "Desk Chair", 9);
+		write(3L, "Desk Mat", 9);
+		write(4L, "Desk Fan", 0);
+
+		assertEquals(List.of(2L, 3L, 1L, 4L), ids(service.suggest("desk", 10)));
+		assertEquals(List.of(2L, 3L), ids(service.suggest("desk", 2)));
+	}
+
+	@Test
+	void stopsScanningAfterMaxScanKeys() {
+		for (long id = 1; id <= 2100; id++) {
+			write(id, "Bulk Item " + id, 1);
+		}
+
+		assertEquals(2000, service.suggest("bulk", 5000).size());
+		assertEquals(1, service.suggest("item 2100", 10).size());
+	}
+
+	@Test
+	void reindexesAfterRenameAndDelete() {
+		write(1L, "Walnut Shelf", 3);
+		write(1L, "Oak Shelf", 3);
+
+		assertTrue(service.suggest("walnut", 10).isEmpty());
+		assertEquals(List.of(1L), ids(service.suggest("oak", 10)));
+		assertEquals(List.of(1L), ids(service.suggest("shelf", 10)));
+
+		service.onProductChanged(new ProductChangedEvent(1L, ProductChangedEvent.Type.DELETED, "Oak Shelf", null, 10.0, 3));
+		assertTrue(service.suggest("shelf", 10).isEmpty());
+	}
+
+	@Test
+	void stockOnlyChangeKeepsTheNameAndUpdatesRanking() {
+		write(1L, "Garden Hose", 1);
+		write(2L, "Garden Rake", 5);
+		assertEquals(List.of(2L, 1L), ids(service.suggest("garden", 10)));
+
+		write(1L, "Garden Hose", 8);
+
+		List<ProductSuggestService.Suggestion> suggestions = service.suggest("garden", 10);
+		assertEquals(List.of(1L, 2L), ids(suggestions));
+		assertEquals(8, suggestions.get(0).getStock());
+		assertEquals(List.of(1L), ids(service.suggest("hose", 10)));
+	}
+
+	private void write(Long id, String name, int stock) {
+		service.onProductChanged(new ProductChangedEvent(id, ProductChangedEvent.Type.UPDATED, name, null, 10.0, stock));
+	}
+
+	private static List<Long> ids(List<ProductSuggestService.Suggestion> suggestions) {
+		return suggestions.stream().map(ProductSuggestService.Suggestion::getId).toList();
+	}
+}
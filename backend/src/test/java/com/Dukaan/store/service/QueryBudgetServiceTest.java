@@ -0,0 +1,55 @@
+package com.Dukaan.store.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetServiceTest {
+
+	@Test
+	void checksRequestsAgainstTheirEndpointBudget() {
+		QueryBudgetService service = new QueryBudgetService(3, "OrderController#getOrderById=1, ProductController#getAllProducts=10", 3);
+		assertEquals(1, service.getBudget("OrderController#getOrderById"));
+		assertEquals(3, service.getBudget("UserController#getUserById"));
+
+		QueryCounter order = new QueryCounter();
+		try (QueryCounter counter = order.resume()) {
+			QueryCounter.record("select * from orders where id=?");
+			QueryCounter.record("select * from order_item where order_id=?");
+		}
+		assertFalse(service.check("OrderController#getOrderById", order));
+
+		QueryCounter products = new QueryCounter();
+		try (QueryCounter counter = products.resume()) {
+			for (int i = 0; i < 4; i++) {
+				QueryCounter.record("select * from product where id=?");
+			}
+		}
+		assertTrue(service.check("ProductController#getAllProducts", products));
+		assertEquals(Map.entry("select * from product where id=?", 4), products.getMostRepeated());
+
+		QueryBudgetService.EndpointStat stat = service.getEndpointStats().get(0);
+		assertEquals("ProductController#getAllProducts", stat.getEndpoint());
+		assertEquals(1, stat.getRepeatedStatements());
+		assertEquals(0, stat.getOverBudget());
+		assertEquals(1, service.getEndpointStats().get(1).getOverBudget());
+
+		assertThrows(IllegalArgumentException.class, () -> QueryBudgetService.parseBudgets("OrderController#getOrderById"));
+	}
+
+	@Test
+	void nestedCountersSeeInnerStatementsAndStopWhenClosed() {
+		QueryCounter outer = QueryCounter.open();
+		QueryCounter inner = QueryCounter.open();
+		QueryCounter.record("select 1");
+		inner.close();
+		QueryCounter.record("select 2");
+		outer.close();
+		QueryCounter.record("select 3");
+
+		assertEquals(1, inner.getStatements());
+		assertEquals(2, outer.getStatements());
+	}
+}
@@ -0,0 +1,44 @@
+package com.Dukaan.store.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsServiceTest {
+
+	@Test
+	void normalizesLiteralsAndInLists() {
+		assertEquals("select * from product p1_0 where p1_0.id in (?...) and p1_0.name=?",
+				QueryStatsService.normalize("select *\n  from product p1_0 where p1_0.id in (?, ?,?) and p1_0.name='it''s'"));
+		assertEquals("select * from orders where id=? limit ?",
+				QueryStatsService.normalize("select * from orders where id=42 limit 10"));
+	}
+
+	@Test
+	void aggregatesByShapeAndKeepsSlowQueries() {
+		QueryStatsService service = new QueryStatsService(100, 500, 2);
+		service.record("select * from orders where id=1", 1_000_000);
+		service.record("select * from orders where id=2", 3_000_000);
+		service.record("select * from product", 150_000_000);
+		service.record("select * from product", 200_000_000);
+		service.record("select * from product", 250_000_000);
+
+		List<QueryStatsService.QueryStat> byCount = service.getStats("count", 10);
+		assertEquals("select * from product", byCount.get(0).getSql());
+		assertEquals(3, byCount.get(0).getCount());
+		QueryStatsService.QueryStat orders = byCount.get(1);
+		assertEquals(2, orders.getCount());
+		assertEquals(4.0, orders.getTotalMs(), 1e-9);
+		assertEquals(3.0, orders.getMaxMs(), 1e-9);
+		assertEquals(1L, orders.getOrigins().size());
+
+		List<QueryStatsService.SlowQuery> slow = service.getSlowQueries();
+		assertEquals(2, slow.size());
+		assertEquals(250, slow.get(0).durationMs());
+
+		service.reset();
+		assertTrue(service.getStats("total", 10).isEmpty());
+	}
+}
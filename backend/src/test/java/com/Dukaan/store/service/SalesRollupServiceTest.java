@@ -0,0 +1,108 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.model.DailySalesRollup;
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.repository.DailySalesRollupRepository;
+import com.Dukaan.store.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesRollupServiceTest {
+
+	@Autowired
+	private SalesRollupService salesRollupService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private DailySalesRollupRepository rollupRepository;
+
+	@Test
+	void incrementalRollupMatchesARebuildAfterACancel() throws Exception {
+		LocalDate today = LocalDate.now();
+		Product kettle = productRepository.save(new Product("Rollup Kettle", "kettle", 12.5, 50));
+		Product mug = productRepository.save(new Product("Rollup Mug", "mug", 4.0, 50));
+
+		placeOrder(kettle, 2, mug, 3);
+		Order cancelled = placeOrder(kettle, 1, mug, 1);
+		placeOrder(kettle, 4, null, 0);
+		orderService.cancelOrder(cancelled.getId());
+
+		double[] kettleIncremental = totals(today, kettle.getId());
+		double[] mugIncremental = totals(today, mug.getId());
+		assertArrayEquals(new double[] {6, 75.0}, kettleIncremental, 1e-9);
+		assertArrayEquals(new double[] {3, 12.0}, mugIncremental, 1e-9);
+
+		Map<String, Object> result = salesRollupService.rebuild(today, today);
+		assertEquals(1, result.get("days"));
+
+		assertArrayEquals(kettleIncremental, totals(today, kettle.getId()), 1e-9);
+		assertArrayEquals(mugIncremental, totals(today, mug.getId()), 1e-9);
+	}
+
+	@Test
+	void cancellingEveryOrderForAProductMatchesARebuild() throws Exception {
+		LocalDate today = LocalDate.now();
+		Product lamp = productRepository.save(new Product("Rollup Lamp", "lamp", 30.0, 10));
+
+		Order order = placeOrder(lamp, 2, null, 0);
+		assertArrayEquals(new double[] {2, 60.0}, totals(today, lamp.getId()), 1e-9);
+		orderService.cancelOrder(order.getId());
+		assertArrayEquals(new double[] {0, 0.0}, totals(today, lamp.getId()), 1e-9);
+
+		salesRollupService.rebuild(today, today);
+		assertArrayEquals(new double[] {0, 0.0}, totals(today, lamp.getId()), 1e-9);
+	}
+
+	@Test
+	void dailySalesAreFilteredByRangeAndProduct() {
+		LocalDate today = LocalDate.now();
+		Product chair = productRepository.save(new Product("Rollup Chair", "chair", 40.0, 10));
+		Product table = productRepository.save(new Product("Rollup Table", "table", 90.0, 10));
+		rollupRepository.save(new DailySalesRollup(today.minusDays(30), chair.getId(), 1, 40.0));
+		rollupRepository.save(new DailySalesRollup(today.minusDays(20), chair.getId(), 2, 80.0));
+		rollupRepository.save(new DailySalesRollup(today.minusDays(20), table.getId(), 1, 90.0));
+
+		List<DailySalesRollup> chairSales = salesRollupService.getDailySales(today.minusDays(40), today.minusDays(10), chair.getId());
+		assertEquals(List.of(today.minusDays(30), today.minusDays(20)), chairSales.stream().map(DailySalesRollup::getDay).toList());
+
+		List<DailySalesRollup> oneDay = salesRollupService.getDailySales(today.minusDays(20), today.minusDays(20), null);
+		// Highest revenue first within a day
+		assertEquals(List.of(table.getId(), chair.getId()), oneDay.stream().map(DailySalesRollup::getProductId).toList());
+	}
+
+	private Order placeOrder(Product first, int firstQuantity, Product second, int secondQuantity) {
+		Order order = new Order();
+		order.getItems().add(new OrderItem(order, productRepository.findById(first.getId()).orElseThrow(), firstQuantity));
+		if (second != null) {
+			order.getItems().add(new OrderItem(order, productRepository.findById(second.getId()).orElseThrow(), secondQuantity));
+		}
+		return orderService.createOrder(order);
+	}
+
+	// Units and revenue for one product on one day; a day with no row counts as zero
+	private double[] totals(LocalDate day, Long productId) {
+		double[] totals = new double[2];
+		for (DailySalesRollup row : salesRollupService.getDailySales(day, day, productId)) {
+			totals[0] += row.getUnits();
+			totals[1] += row.getRevenue();
+		}
+		return totals;
+	}
+}
@@ -0,0 +1,130 @@
+package com.Dukaan.store.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SingleFlight<String> flight = new SingleFlight<>("test", 5_000, 10);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			results.add(pool.submit(() -> flight.execute("p1", () -> {
+				loads.incrementAndGet();
+				await(release);
+				return "product";
+			})));
+			waitUntil(() -> flight.getInFlight() == 1);
+			for (int i = 0; i < 7; i++) {
+				results.add(pool.submit(() -> flight.execute("p1", () -> {
+					loads.incrementAndGet();
+					return "own load";
+				})));
+			}
+			waitUntil(() -> ((Number) flight.toMap(1).get("shared")).intValue() == 7);
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("product", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(0, flight.getInFlight());
+
+		Map<String, Object> stats = flight.toMap(5);
+		assertEquals(1L, stats.get("loads"));
+		@SuppressWarnings("unchecked")
+		Map<String, Object> key = ((List<Map<String, Object>>) stats.get("topKeys")).get(0);
+		assertEquals("p1", key.get("key"));
+		assertEquals(7L, key.get("maxFollowers"));
+
+		// Nothing is cached once the load completes
+		assertEquals("again", flight.execute("p1", () -> "again"));
+	}
+
+	@Test
+	void followersSeeTheLeadersFailure() throws Exception {
+		SingleFlight<String> flight = new SingleFlight<>("test", 5_000, 10);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = pool.submit(() -> flight.execute("bad", () -> {
+				await(release);
+				throw new IllegalArgumentException("boom");
+			}));
+			waitUntil(() -> flight.getInFlight() == 1);
+			Future<String> follower = pool.submit(() -> flight.execute("bad", () -> "never"));
+			waitUntil(() -> ((Number) flight.toMap(1).get("shared")).intValue() == 1);
+			release.countDown();
+			assertInstanceOf(IllegalArgumentException.class, assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+			assertInstanceOf(IllegalArgumentException.class, assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void followerLoadsOnItsOwnAfterMaxWait() throws Exception {
+		SingleFlight<String> flight = new SingleFlight<>("test", 50, 10);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> leader = pool.submit(() -> flight.execute("slow", () -> {
+				await(release);
+				return "leader";
+			}));
+			waitUntil(() -> flight.getInFlight() == 1);
+			assertEquals("own", flight.execute("slow", () -> "own"));
+			assertEquals(1L, flight.toMap(1).get("waitTimeouts"));
+			release.countDown();
+			assertEquals("leader", leader.get(5, TimeUnit.SECONDS));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void keysPastTheCapShareOneStatsBucket() {
+		SingleFlight<String> flight = new SingleFlight<>("test", 50, 2);
+		for (int i = 0; i < 5; i++) {
+			String key = "k" + i;
+			flight.execute(key, () -> key);
+		}
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> keys = (List<Map<String, Object>>) flight.toMap(10).get("topKeys");
+		assertEquals(3, keys.size());
+		assertEquals(5L, flight.toMap(10).get("loads"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not reached");
+			Thread.sleep(1);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.Dukaan.store.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+	@Test
+	void countsExactlyWhileUnderCapacity() {
+		SpaceSavingSketch<Long> sketch = new SpaceSavingSketch<>(10);
+		sketch.offer(1L, 5);
+		sketch.offer(2L, 3);
+		sketch.offer(1L, 2);
+
+		List<SpaceSavingSketch.Counter<Long>> top = sketch.top(2);
+		assertEquals(1L, top.get(0).getKey());
+		assertEquals(7, top.get(0).getCount());
+		assertEquals(0, top.get(0).getError());
+		assertEquals(3, top.get(1).getCount());
+	}
+
+	@Test
+	void keepsHeavyHittersInLongTail() {
+		SpaceSavingSketch<Long> sketch = new SpaceSavingSketch<>(50);
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			// Products 1-3 take roughly 30% of sales; the rest is spread over 10k products
+			long product = random.nextInt(10) < 3 ? 1 + random.nextInt(3) : 100 + random.nextInt(10_000);
+			sketch.offer(product, 1);
+		}
+
+		assertEquals(50, sketch.size());
+		List<SpaceSavingSketch.Counter<Long>> top = sketch.top(3);
+		for (SpaceSavingSketch.Counter<Long> counter : top) {
+			assertTrue(counter.getKey() <= 3, "unexpected heavy hitter " + counter.getKey());
+			assertTrue(counter.getCount() - counter.getError() > 8_000);
+		}
+	}
+
+	@Test
+	void subtractTakesBackTrackedWeightOnly() {
+		SpaceSavingSketch<Long> sketch = new SpaceSavingSketch<>(2);
+		sketch.offer(1L, 5);
+		sketch.offer(2L, 3);
+		sketch.subtract(1L, 4);
+		sketch.subtract(9L, 4);
+
+		List<SpaceSavingSketch.Counter<Long>> top = sketch.top(2);
+		assertEquals(2L, top.get(0).getKey());
+		assertEquals(1, top.get(1).getCount());
+		assertFalse(sketch.contains(9L));
+
+		// The reduced counter is now the smallest, so a newcomer replaces it
+		sketch.offer(3L, 2);
+		assertFalse(sketch.contains(1L));
+		assertTrue(sketch.contains(3L));
+		sketch.subtract(2L, 10);
+		assertEquals(0, sketch.top(2).get(1).getCount());
+	}
+}
@@ -0,0 +1,80 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.event.OrderEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopSellerServiceTest {
+
+	private final TopSellerService service = new TopSellerService(5, 12, 100);
+	private final LocalDateTime now = LocalDateTime.now();
+
+	@Test
+	void cancellationsAreSubtracted() {
+		service.onOrderEvent(order(OrderEvent.Type.PLACED, 1L, 10L, 5));
+		service.onOrderEvent(order(OrderEvent.Type.PLACED, 2L, 20L, 3));
+		service.onOrderEvent(order(OrderEvent.Type.PLACED, 3L, 10L, 1));
+		service.onOrderEvent(order(OrderEvent.Type.CANCELLED, 1L, 10L, 5));
+
+		assertEquals(Map.of(20L, 3L, 10L, 1L), units(service.getTopSellers(10, 60)));
+
+		service.onOrderEvent(order(OrderEvent.Type.CANCELLED, 3L, 10L, 1));
+		assertEquals(Map.of(20L, 3L), units(service.getTopSellers(10, 60)));
+	}
+
+	@Test
+	void eventsDuringAReseedAreReplayedOnce() {
+		service.beginReseed();
+		// Committed before the seed query: already in its rows
+		service.onOrderEvent(order(OrderEvent.Type.PLACED, 1L, 10L, 4));
+		// Committed after the query: only seen as events
+		service.onOrderEvent(order(OrderEvent.Type.PLACED, 2L, 20L, 2));
+		service.onOrderEvent(order(OrderEvent.Type.CANCELLED, 3L, 30L, 7));
+		// Cancelled before the query, so the rows already leave it out
+		service.onOrderEvent(order(OrderEvent.Type.CANCELLED, 4L, 40L, 9));
+
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(new Object[] {1L, 10L, "Product 10", now, 4});
+		rows.add(new Object[] {3L, 30L, "Product 30", now, 7});
+		rows.add(new Object[] {5L, 50L, "Product 50", now, 1});
+		service.finishReseed(rows);
+
+		assertEquals(Map.of(10L, 4L, 20L, 2L, 50L, 1L), units(service.getTopSellers(10, 60)));
+
+		// Back to live updates once the ring is swapped in
+		service.onOrderEvent(order(OrderEvent.Type.PLACED, 6L, 50L, 5));
+		assertEquals(6L, units(service.getTopSellers(10, 60)).get(50L));
+	}
+
+	@Test
+	void keepsNamesOfTrackedProducts() {
+		TopSellerService small = new TopSellerService(5, 1, 2);
+		for (long id = 1; id <= 20; id++) {
+			small.onOrderEvent(order(OrderEvent.Type.PLACED, id, id, (int) id));
+		}
+
+		List<Map<String, Object>> top = small.getTopSellers(2, 5);
+		assertEquals(2, top.size());
+		for (Map<String, Object> row : top) {
+			assertEquals("Product " + row.get("productId"), row.get("name"));
+		}
+	}
+
+	private OrderEvent order(OrderEvent.Type type, Long orderId, Long productId, int quantity) {
+		return new OrderEvent(type, orderId, now, type == OrderEvent.Type.CANCELLED ? "CANCELLED" : "PENDING",
+				List.of(new OrderEvent.Line(productId, "Product " + productId, quantity, 1.0)));
+	}
+
+	private static Map<Long, Long> units(List<Map<String, Object>> rows) {
+		Map<Long, Long> units = new LinkedHashMap<>();
+		rows.forEach(row -> units.put((Long) row.get("productId"), (Long) row.get("units")));
+		return units;
+	}
+}
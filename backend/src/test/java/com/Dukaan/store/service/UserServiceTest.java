@@ -0,0 +1,66 @@
+package com.Dukaan.store.service;
+
+import com.Dukaan.store.model.User;
+import com.Dukaan.store.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTest {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void searchMatchesNameOrEmailAcrossPages() {
+		for (int i = 0; i < 5; i++) {
+			userRepository.save(new User("Pagination Filler " + i, "filler" + i + "@example.com", "secret", "USER"));
+		}
+		userRepository.save(new User("Ada Searchable", "ada@example.com", "secret", "USER"));
+		userRepository.save(new User("Grace", "grace.searchable@example.com", "secret", "USER"));
+		userRepository.save(new User("Linus", "SEARCHABLE-linus@example.com", "secret", "USER"));
+
+		Sort byName = Sort.by("name").ascending();
+		Page<User> first = userService.getUsersPaginated("Searchable", PageRequest.of(0, 2, byName));
+		assertEquals(3, first.getTotalElements());
+		assertEquals(2, first.getTotalPages());
+		assertEquals(List.of("Ada Searchable", "Grace"), first.map(User::getName).getContent());
+
+		Page<User> second = userService.getUsersPaginated("searchable", PageRequest.of(1, 2, byName));
+		assertEquals(List.of("Linus"), second.map(User::getName).getContent());
+
+		assertEquals(0, userService.getUsersPaginated("search_ble", PageRequest.of(0, 10)).getTotalElements());
+		assertEquals(userRepository.count(), userService.getUsersPaginated(" ", PageRequest.of(0, 10)).getTotalElements());
+	}
+
+	@Test
+	void sliceSkipsTheTotalAndCachedTotalFollowsWrites() {
+		userRepository.save(new User("Slice Kestrel 1", "kestrel1@example.com", "secret", "USER"));
+		userRepository.save(new User("Slice Kestrel 2", "kestrel2@example.com", "secret", "USER"));
+		userRepository.save(new User("Slice Kestrel 3", "kestrel3@example.com", "secret", "USER"));
+
+		Slice<User> first = userService.getUsersSlice("kestrel", PageRequest.of(0, 2, Sort.by("name")));
+		assertFalse(first instanceof Page);
+		assertEquals(2, first.getNumberOfElements());
+		assertTrue(first.hasNext());
+		assertFalse(userService.getUsersSlice("kestrel", PageRequest.of(1, 2, Sort.by("name"))).hasNext());
+
+		assertEquals(3, userService.getUsersPaginated("kestrel", PageRequest.of(0, 2)).getTotalElements());
+		userService.createUser(new User("Slice Kestrel 4", "kestrel4@example.com", "secret", "USER"));
+		assertEquals(4, userService.getUsersPaginated("kestrel", PageRequest.of(0, 2)).getTotalElements());
+	}
+}
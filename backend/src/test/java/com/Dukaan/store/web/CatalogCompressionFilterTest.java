@@ -0,0 +1,157 @@
+package com.Dukaan.store.web;
+
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.model.User;
+import com.Dukaan.store.repository.ProductRepository;
+import com.Dukaan.store.repository.UserRepository;
+import com.Dukaan.store.security.JwtUtil;
+import com.Dukaan.store.service.CustomUserDetailsService;
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogCompressionFilterTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CatalogResponseCache cache;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	private String token;
+
+	@BeforeEach
+	void signIn() {
+		String email = "catalog-" + UUID.randomUUID() + "@example.com";
+		userRepository.save(new User("Catalog User", email, "unused", "USER"));
+		token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(email));
+		// Enough products that the full listing is over the minimum size
+		for (int i = 0; i < 20; i++) {
+			productRepository.save(new Product("Catalog Product " + UUID.randomUUID(), "for compression tests", 10.0, 5));
+		}
+	}
+
+	@Test
+	void prefersBrotliWhenAccepted() throws Exception {
+		assumeTrue(Brotli4jLoader.isAvailable(), "Brotli native library not available");
+
+		MockHttpServletResponse response = fetch("/api/products", null, "gzip, deflate, br");
+
+		assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		String body = new String(Decoder.decompress(response.getContentAsByteArray()).getDecompressedData(), StandardCharsets.UTF_8);
+		assertTrue(body.startsWith("[") && body.contains("Catalog Product"), body);
+	}
+
+	@Test
+	void fallsBackToGzipWhenBrotliIsRefused() throws Exception {
+		MockHttpServletResponse response = fetch("/api/products", null, "br;q=0, gzip");
+
+		assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+		assertTrue(gunzip(response.getContentAsByteArray()).contains("Catalog Product"));
+	}
+
+	@Test
+	void leavesResponsesUncompressedWithoutAcceptEncoding() throws Exception {
+		MockHttpServletResponse response = fetch("/api/products", null, null);
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertTrue(response.getContentAsString().contains("Catalog Product"));
+	}
+
+	@Test
+	void passesSmallResponsesThroughUncompressed() throws Exception {
+		String query = "page=100000&size=1";
+		MockHttpServletResponse response = fetch("/api/products/paginated", query, "gzip");
+
+		assertEquals(200, response.getStatus());
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertTrue(response.getContentAsString().contains("\"products\":[]"), response.getContentAsString());
+		assertNull(cache.get(cache.key(cache.currentVersion(), "/api/products/paginated", query, "gzip")));
+		assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+	}
+
+	@Test
+	void variesByAcceptOnEveryCatalogResponse() throws Exception {
+		assertTrue(fetch("/api/products", null, "gzip").getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+		// Served from the cache the second time
+		assertTrue(fetch("/api/products", null, "gzip").getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+		assertTrue(fetch("/api/products", null, null).getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+
+		MockHttpServletResponse cbor = mockMvc.perform(get("/api/products")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+				.header(HttpHeaders.ACCEPT, "application/cbor")
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip")).andReturn().getResponse();
+		assertEquals("application/cbor", cbor.getContentType());
+		assertNull(cbor.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertTrue(cbor.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+	}
+
+	@Test
+	void cachesPerQueryAndEncodingUntilTheCatalogChanges() throws Exception {
+		String firstPage = "page=0&size=20";
+		String secondPage = "page=1&size=20";
+		String first = gunzip(fetch("/api/products/paginated", firstPage, "gzip").getContentAsByteArray());
+		String second = gunzip(fetch("/api/products/paginated", secondPage, "gzip").getContentAsByteArray());
+		assertNotEquals(first, second);
+
+		long version = cache.currentVersion();
+		assertNotNull(cache.get(cache.key(version, "/api/products/paginated", firstPage, "gzip")));
+		assertNotNull(cache.get(cache.key(version, "/api/products/paginated", secondPage, "gzip")));
+		assertNull(cache.get(cache.key(version, "/api/products/paginated", firstPage, "br")));
+		assertEquals(first, gunzip(fetch("/api/products/paginated", firstPage, "gzip").getContentAsByteArray()));
+
+		Product added = productRepository.save(new Product("Catalog Newcomer " + UUID.randomUUID(), "new", 10.0, 5));
+
+		assertTrue(cache.currentVersion() > version);
+		assertNull(cache.get(cache.key(version, "/api/products/paginated", firstPage, "gzip")));
+		assertTrue(gunzip(fetch("/api/products", null, "gzip").getContentAsByteArray()).contains(added.getName()));
+	}
+
+	private MockHttpServletResponse fetch(String path, String query, String acceptEncoding) throws Exception {
+		var request = get(query != null ? path + "?" + query : path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		if (acceptEncoding != null) {
+			request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+		return mockMvc.perform(request).andReturn().getResponse();
+	}
+
+	private static String gunzip(byte[] body) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
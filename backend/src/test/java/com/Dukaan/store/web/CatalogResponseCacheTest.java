@@ -0,0 +1,64 @@
+package com.Dukaan.store.web;
+
+import com.Dukaan.store.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogResponseCacheTest {
+
+	private final CatalogResponseCache cache = new CatalogResponseCache(2);
+
+	@Test
+	void keyDistinguishesPathQueryAndEncoding() {
+		long version = cache.currentVersion();
+		String key = cache.key(version, "/api/products/paginated", "page=0&size=5", "br");
+
+		assertNotEquals(key, cache.key(version, "/api/products", "page=0&size=5", "br"));
+		assertNotEquals(key, cache.key(version, "/api/products/paginated", "page=1&size=5", "br"));
+		assertNotEquals(key, cache.key(version, "/api/products/paginated", "page=0&size=5", "gzip"));
+		assertNotEquals(key, cache.key(version + 1, "/api/products/paginated", "page=0&size=5", "br"));
+		assertEquals(cache.key(version, "/api/products", null, "gzip"), cache.key(version, "/api/products", "", "gzip"));
+	}
+
+	@Test
+	void productChangeInvalidatesEveryEntry() {
+		long version = cache.currentVersion();
+		String key = cache.key(version, "/api/products", null, "gzip");
+		cache.put(version, key, new byte[] {1});
+		assertArrayEquals(new byte[] {1}, cache.get(key));
+
+		cache.onProductChanged(new ProductChangedEvent(1L, ProductChangedEvent.Type.UPDATED));
+
+		assertEquals(version + 1, cache.currentVersion());
+		assertNull(cache.get(key));
+	}
+
+	@Test
+	void bodyRenderedBeforeAChangeIsNotCached() {
+		long version = cache.currentVersion();
+		String key = cache.key(version, "/api/products", null, "br");
+		cache.onProductChanged(new ProductChangedEvent(1L, ProductChangedEvent.Type.UPDATED));
+
+		cache.put(version, key, new byte[] {1});
+
+		assertNull(cache.get(key));
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedEntry() {
+		long version = cache.currentVersion();
+		String first = cache.key(version, "/api/products", "page=0", "gzip");
+		String second = cache.key(version, "/api/products", "page=1", "gzip");
+		String third = cache.key(version, "/api/products", "page=2", "gzip");
+		cache.put(version, first, new byte[] {1});
+		cache.put(version, second, new byte[] {2});
+		cache.get(first);
+
+		cache.put(version, third, new byte[] {3});
+
+		assertNotNull(cache.get(first));
+		assertNull(cache.get(second));
+		assertNotNull(cache.get(third));
+	}
+}
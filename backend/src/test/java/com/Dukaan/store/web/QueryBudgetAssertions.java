@@ -0,0 +1,72 @@
+package com.Dukaan.store.web;
+
+import com.Dukaan.store.service.QueryCounter;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SQL budget assertions for tests. The {@link Executable} forms count statements run on
+ * the calling thread, so they suit service calls and MockMvc; the {@link ResponseEntity}
+ * form reads the {@code X-SQL-Count} header, for requests served by a running server
+ * ({@code store.sql-budget.response-header=true}, as in the test profile).
+ */
+public final class QueryBudgetAssertions {
+
+	private QueryBudgetAssertions() {
+	}
+
+	public static QueryCounter count(Executable work) {
+		try (QueryCounter counter = QueryCounter.open()) {
+			try {
+				work.execute();
+			} catch (Throwable e) {
+				fail("Work under SQL budget threw " + e, e);
+			}
+			return counter;
+		}
+	}
+
+	public static void assertMaxStatements(int max, Executable work) {
+		QueryCounter counter = count(work);
+		assertTrue(counter.getStatements() <= max,
+				() -> "Expected at most " + max + " SQL statements, ran " + counter.getStatements() + ":\n" + describe(counter));
+	}
+
+	public static <T> T assertMaxStatements(int max, ThrowingSupplier<T> work) {
+		Object[] result = new Object[1];
+		assertMaxStatements(max, () -> result[0] = work.get());
+		@SuppressWarnings("unchecked")
+		T value = (T) result[0];
+		return value;
+	}
+
+	public static void assertMaxStatements(int max, ResponseEntity<?> response) {
+		String header = response.getHeaders().getFirst(QueryBudgetFilter.HEADER);
+		assertNotNull(header, "No " + QueryBudgetFilter.HEADER + " header; is store.sql-budget.response-header on?");
+		int statements = Integer.parseInt(header);
+		assertTrue(statements <= max, () -> "Expected at most " + max + " SQL statements, ran " + statements);
+	}
+
+	/**
+	 * Fail if any one statement runs more than {@code maxRepeats} times, whatever the total.
+	 */
+	public static void assertNoRepeatedStatements(int maxRepeats, Executable work) {
+		QueryCounter counter = count(work);
+		Map.Entry<String, Integer> repeated = counter.getMostRepeated();
+		assertTrue(repeated == null || repeated.getValue() <= maxRepeats,
+				() -> "Possible N+1: " + repeated.getValue() + " executions of " + repeated.getKey());
+	}
+
+	private static String describe(QueryCounter counter) {
+		return counter.getCounts().entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+				.map(e -> "  " + e.getValue() + " x " + e.getKey())
+				.collect(Collectors.joining("\n"));
+	}
+}
@@ -0,0 +1,105 @@
+package com.Dukaan.store.web;
+
+import com.Dukaan.store.model.Order;
+import com.Dukaan.store.model.OrderItem;
+import com.Dukaan.store.model.Product;
+import com.Dukaan.store.model.User;
+import com.Dukaan.store.repository.ProductRepository;
+import com.Dukaan.store.repository.UserRepository;
+import com.Dukaan.store.security.JwtUtil;
+import com.Dukaan.store.service.CustomUserDetailsService;
+import com.Dukaan.store.service.OrderService;
+import com.Dukaan.store.service.QueryBudgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static com.Dukaan.store.web.QueryBudgetAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class QueryBudgetFilterTest {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private QueryBudgetService budgetService;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private CustomUserDetailsService userDetailsService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Long orderId;
+	private HttpHeaders headers;
+
+	@BeforeEach
+	void placeOrder() {
+		String email = "budget-" + UUID.randomUUID() + "@example.com";
+		User user = userRepository.save(new User("Budget User", email, "unused", "USER"));
+		Order order = new Order();
+		order.setUser(user);
+		for (int i = 0; i < 4; i++) {
+			Product product = productRepository.save(new Product("Budget Product " + UUID.randomUUID(), "for budget tests", 5.0, 10));
+			order.getItems().add(new OrderItem(order, product, 1));
+		}
+		orderId = orderService.createOrder(order).getId();
+		headers = new HttpHeaders();
+		headers.setBearerAuth(jwtUtil.generateToken(userDetailsService.loadUserByUsername(email)));
+	}
+
+	@Test
+	void reportsStatementCountPerRequest() {
+		ResponseEntity<String> response = rest.exchange("/api/orders/" + orderId, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertTrue(response.getBody().contains("Budget Product"), response.getBody());
+		// User lookup for the JWT, the order with its user, then its lines in one query
+		assertMaxStatements(4, response);
+		assertTrue(budgetService.getEndpointStats().stream()
+				.anyMatch(s -> s.getEndpoint().equals("OrderController#getOrderById") && s.getRequests() > 0));
+	}
+
+	@Test
+	void detectsLazyLoadsRepeatedPerRow() {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(true);
+
+		// Walking each line's lazy product is one select per line
+		AssertionError error = assertThrows(AssertionError.class, () -> assertNoRepeatedStatements(2, () ->
+				transaction.executeWithoutResult(status ->
+						orderService.getOrderById(orderId).getItems().forEach(item -> item.getProduct().getName()))));
+		assertTrue(error.getMessage().startsWith("Possible N+1: 4 executions of select"), error.getMessage());
+
+		// The snapshot columns on the order lines need no product at all
+		assertNoRepeatedStatements(1, () ->
+				transaction.executeWithoutResult(status -> orderService.toDTO(orderService.getOrderById(orderId))));
+	}
+}